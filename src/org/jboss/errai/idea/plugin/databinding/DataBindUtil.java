@@ -17,53 +17,67 @@
 package org.jboss.errai.idea.plugin.databinding;
 
 import static com.intellij.psi.search.GlobalSearchScope.allScope;
-import static com.intellij.psi.search.GlobalSearchScope.projectScope;
-import static com.intellij.psi.search.searches.AnnotatedElementsSearch.searchPsiFields;
-import static com.intellij.psi.search.searches.AnnotatedElementsSearch.searchPsiParameters;
 
-import com.intellij.lang.properties.IProperty;
-import com.intellij.lang.properties.PropertiesUtil;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.util.Key;
 import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiClass;
-import com.intellij.psi.PsiClassType;
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiSubstitutor;
 import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiTypeParameter;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.PsiShortNamesCache;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.util.PsiUtil;
+import com.intellij.psi.util.TypeConversionUtil;
+import org.jboss.errai.idea.plugin.databinding.index.BoundModelIndex;
+import org.jboss.errai.idea.plugin.databinding.index.ConverterIndex;
 import org.jboss.errai.idea.plugin.databinding.model.BeanBindingMetaData;
+import org.jboss.errai.idea.plugin.databinding.model.BeanPropertyTable;
 import org.jboss.errai.idea.plugin.databinding.model.BindabilityValidation;
 import org.jboss.errai.idea.plugin.databinding.model.BindingType;
 import org.jboss.errai.idea.plugin.databinding.model.BoundMetaData;
 import org.jboss.errai.idea.plugin.databinding.model.ConvertibilityMetaData;
 import org.jboss.errai.idea.plugin.databinding.model.PropertyInfo;
+import org.jboss.errai.idea.plugin.databinding.model.PropertyPathTrie;
+import org.jboss.errai.idea.plugin.databinding.model.WidgetValueDescriptor;
 import org.jboss.errai.idea.plugin.util.AnnotationSearchResult;
 import org.jboss.errai.idea.plugin.util.DefaultPolicy;
+import org.jboss.errai.idea.plugin.util.ErraiAppConfiguration;
 import org.jboss.errai.idea.plugin.util.SuperTypeInfo;
 import org.jboss.errai.idea.plugin.util.Types;
 import org.jboss.errai.idea.plugin.util.Util;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.Stack;
 
 /**
  * @author Mike Brock
  */
 public class DataBindUtil {
   private static final int CASE_OFFSET = ('z' - 'Z');
-  private static final Key<BeanBindingMetaData> TEMPLATE_BINDING_META_DATA_KEY
+  private static final Key<CachedValue<BeanBindingMetaData>> TEMPLATE_BINDING_META_DATA_KEY
       = Key.create("TEMPLATE_BINDING_META_DATA_KEY");
+  private static final Key<CachedValue<BeanPropertyTable>> BEAN_PROPERTY_TABLE_KEY
+      = Key.create("BEAN_PROPERTY_TABLE_KEY");
+  private static final Key<CachedValue<PropertyPathTrie>> PROPERTY_PATH_TRIE_KEY
+      = Key.create("PROPERTY_PATH_TRIE_KEY");
+  private static final Key<CachedValue<WidgetValueDescriptor>> WIDGET_VALUE_DESCRIPTOR_KEY
+      = Key.create("WIDGET_VALUE_DESCRIPTOR_KEY");
 
   public static Map<String, PropertyInfo> getAllProperties(PsiClass boundClass, String propertySearchRoot) {
     int idx = propertySearchRoot.lastIndexOf('.');
@@ -74,61 +88,127 @@ public class DataBindUtil {
       propertySearchRoot = propertySearchRoot.substring(0, idx);
     }
 
-    PsiClass cls = boundClass;
+    PropertyPathTrie.Node node = getPropertyPathTrie(boundClass).getRoot();
     if (propertySearchRoot != null) {
       for (String token : propertySearchRoot.split("\\.")) {
-        if (!typeIsBindable(cls)) {
-          cls = null;
+        if (!node.isBindable()) {
+          node = null;
           break;
         }
-        PsiClass result = getBeanPropertyType(cls, token.trim());
-        if (result == null) {
-          cls = null;
+        node = node.getChild(token.trim());
+        if (node == null) {
           break;
         }
-        cls = result;
       }
     }
 
     Map<String, PropertyInfo> properties = new LinkedHashMap<String, PropertyInfo>();
-    Project project = boundClass.getProject();
+    if (node == null) {
+      return properties;
+    }
+    final PsiClass cls = node.getType();
+
+    final String prefix = propertySearchRoot != null ? propertySearchRoot + "." : "";
+    for (Map.Entry<String, PropertyInfo> entry : getBeanPropertyTable(cls).getProperties().entrySet()) {
+      properties.put(prefix + entry.getKey(), entry.getValue());
+    }
+    return properties;
+  }
+
+  /**
+   * Returns the bean properties of the specified class. The table is cached on the class until a declaration in the
+   * project, or the project's libraries, change.
+   */
+  public static BeanPropertyTable getBeanPropertyTable(final PsiClass type) {
+    final Project project = type.getProject();
+    return CachedValuesManager.getManager(project).getCachedValue(type, BEAN_PROPERTY_TABLE_KEY,
+        new CachedValueProvider<BeanPropertyTable>() {
+          @Override
+          public Result<BeanPropertyTable> compute() {
+            return Result.create(buildBeanPropertyTable(type),
+                PsiModificationTracker.JAVA_STRUCTURE_MODIFICATION_COUNT, ProjectRootManager.getInstance(project));
+          }
+        }, false);
+  }
+
+  /**
+   * Returns the property paths resolved so far from the specified model class. The trie is cached on the class and
+   * discarded whenever the structure of any class or the <tt>ErraiApp.properties</tt> configuration changes.
+   */
+  public static PropertyPathTrie getPropertyPathTrie(final PsiClass modelClass) {
+    return CachedValuesManager.getManager(modelClass.getProject()).getCachedValue(modelClass, PROPERTY_PATH_TRIE_KEY,
+        new CachedValueProvider<PropertyPathTrie>() {
+          @Override
+          public Result<PropertyPathTrie> compute() {
+            return Result.create(new PropertyPathTrie(modelClass),
+                PsiModificationTracker.JAVA_STRUCTURE_MODIFICATION_COUNT,
+                ErraiAppConfiguration.getInstance(modelClass.getProject()));
+          }
+        }, false);
+  }
+
+  private static BeanPropertyTable buildBeanPropertyTable(PsiClass type) {
+    final Project project = type.getProject();
     final Map<String, PropertyInfo> propertyInfoMap = new LinkedHashMap<String, PropertyInfo>();
-    for (final PsiMethod method : cls.getAllMethods()) {
-      if (method.getModifierList().hasModifierProperty("public")) {
-        final PsiClass topLevelClass = PsiUtil.getTopLevelClass(method);
-        if (topLevelClass == null || topLevelClass.getQualifiedName().equals("java.lang.Object")) {
-          continue;
-        }
+    final Map<String, PropertyInfo> getters = new HashMap<String, PropertyInfo>();
+    final Map<String, PropertyInfo> gettersIgnoringCase = new HashMap<String, PropertyInfo>();
 
-        final String property = getPropertyFromAccessor(method.getName());
+    for (final PsiMethod method : type.getAllMethods()) {
+      if (method.isConstructor() || !method.getModifierList().hasModifierProperty("public")) {
+        continue;
+      }
+
+      final String methodName = method.getName();
+      final PsiParameter[] parameters = method.getParameterList().getParameters();
+      final String property = getPropertyFromAccessor(methodName);
+
+      final boolean isGetter = parameters.length == 0
+          && (methodName.equalsIgnoreCase("get" + property) || methodName.equalsIgnoreCase("is" + property));
+      final boolean isSetter = parameters.length == 1 && methodName.equalsIgnoreCase("set" + property);
+      if (!isGetter && !isSetter) {
+        continue;
+      }
 
-        final PsiParameter[] parameters = method.getParameterList().getParameters();
-        if (parameters.length == 0
-            && (method.getName().equalsIgnoreCase("get" + property)) || method.getName().equalsIgnoreCase("is" + property)) {
+      final PsiClass topLevelClass = PsiUtil.getTopLevelClass(method);
+      final boolean declaredByObject
+          = topLevelClass == null || "java.lang.Object".equals(topLevelClass.getQualifiedName());
 
-          PsiClass type = getPsiClassFromType(project, method.getReturnType());
+      if (isGetter) {
+        final PsiClass propertyType = getPsiClassFromType(project, method.getReturnType());
 
+        final PropertyInfo getterInfo = new PropertyInfo();
+        getterInfo.setGetterElement(method);
+        getterInfo.setPropertyName(property);
+        getterInfo.setPropertyType(propertyType);
+
+        if (!getters.containsKey(property)) {
+          getters.put(property, getterInfo);
+        }
+
+        final String key = property.toLowerCase();
+        if (!gettersIgnoringCase.containsKey(key)) {
+          gettersIgnoringCase.put(key, getterInfo);
+        }
+
+        if (!declaredByObject) {
           final PropertyInfo info = getOrCreatePropertyInfo(propertyInfoMap, property);
           info.setGetterElement(method);
           if (info.getPropertyType() == null) {
-            info.setPropertyType(type);
+            info.setPropertyType(propertyType);
           }
         }
-        else if (parameters.length == 1 && method.getName().equalsIgnoreCase("set" + property)) {
-          PsiClass type = getPsiClassFromType(project, parameters[0].getType());
-          final PropertyInfo info = getOrCreatePropertyInfo(propertyInfoMap, property);
-          info.setSetterElement(method);
-          if (info.getPropertyType() == null) {
-            info.setPropertyType(type);
-          }
+      }
+      else if (!declaredByObject) {
+        final PsiClass propertyType = getPsiClassFromType(project, parameters[0].getType());
+        final PropertyInfo info = getOrCreatePropertyInfo(propertyInfoMap, property);
+        info.setSetterElement(method);
+        if (info.getPropertyType() == null) {
+          info.setPropertyType(propertyType);
         }
       }
     }
-    final String prefix = propertySearchRoot != null ? propertySearchRoot + "." : "";
-    for (Map.Entry<String, PropertyInfo> entry : propertyInfoMap.entrySet()) {
-      properties.put(prefix + entry.getKey(), entry.getValue());
-    }
-    return properties;
+
+    return new BeanPropertyTable(propertyInfoMap, getters, gettersIgnoringCase);
   }
 
   public static Collection<BoundMetaData> getAllBoundMetaDataFromClass(PsiElement element) {
@@ -151,21 +231,26 @@ public class DataBindUtil {
     return new BoundMetaData(Util.getImmediateOwnerElement(element));
   }
 
+  /**
+   * Returns the data binding model of the bean the specified element belongs to. It is cached on the top-level class
+   * until a declaration anywhere in the project, or the project's libraries, change, since the bound model type may
+   * be declared in another file.
+   */
   public static BeanBindingMetaData getDataBindingMetaData(final PsiElement element) {
-    return new BeanBindingMetaData(PsiUtil.getTopLevelClass(element));
-
-//    return Util.getOrCreateCache(TEMPLATE_BINDING_META_DATA_KEY, element, new CacheProvider<BeanBindingMetaData>() {
-//      @Override
-//      public BeanBindingMetaData provide() {
-//        final PsiClass topLevelClass = PsiUtil.getTopLevelClass(element);
-//        return new BeanBindingMetaData(topLevelClass);
-//      }
-//
-//      @Override
-//      public boolean isCacheValid(BeanBindingMetaData beanBindingMetaData) {
-//        return beanBindingMetaData.isCacheValid();
-//      }
-//    });
+    final PsiClass topLevelClass = PsiUtil.getTopLevelClass(element);
+    if (topLevelClass == null) {
+      return new BeanBindingMetaData(null);
+    }
+
+    final Project project = topLevelClass.getProject();
+    return CachedValuesManager.getManager(project).getCachedValue(topLevelClass, TEMPLATE_BINDING_META_DATA_KEY,
+        new CachedValueProvider<BeanBindingMetaData>() {
+          @Override
+          public Result<BeanBindingMetaData> compute() {
+            return Result.create(new BeanBindingMetaData(topLevelClass),
+                PsiModificationTracker.OUT_OF_CODE_BLOCK_MODIFICATION_COUNT, ProjectRootManager.getInstance(project));
+          }
+        }, false);
   }
 
   public static PsiClass getBeanPropertyType(PsiClass type, String property) {
@@ -182,24 +267,7 @@ public class DataBindUtil {
   public static PropertyInfo getBeanPropertyInfo(PsiClass type, String property) {
     if (type == null) return null;
 
-    final String getMethod = "get" + property;
-    final String isMethod = "is" + property;
-
-    for (PsiMethod method : type.getAllMethods()) {
-      if (method.getModifierList().hasModifierProperty("public")) {
-        if ((getMethod.equalsIgnoreCase(method.getName()) || isMethod.equalsIgnoreCase(method.getName()))
-            && method.getParameterList().getParameters().length == 0) {
-
-          PropertyInfo propertyInfo = new PropertyInfo();
-          propertyInfo.setGetterElement(method);
-          propertyInfo.setPropertyName(property);
-          propertyInfo.setPropertyType(getPsiClassFromType(type.getProject(), method.getReturnType()));
-
-          return propertyInfo;
-        }
-      }
-    }
-    return null;
+    return getBeanPropertyTable(type).getReadableProperty(property);
   }
 
   public static PsiClass getPsiClassFromType(Project project, PsiType type) {
@@ -245,56 +313,71 @@ public class DataBindUtil {
   public DataBindUtil() {
   }
 
-  @SuppressWarnings("ConstantConditions")
   public static BindabilityValidation typeIsBindableToWidget(PsiClass bindingType,
                                                              PsiClass widgetType,
                                                              ConvertibilityMetaData convertibilityMetaData) {
     if (bindingType == null) return new BindabilityValidation(false);
 
     BindabilityValidation validation = new BindabilityValidation();
-    final PsiClassType[] superTypes = widgetType.getSuperTypes();
     validation.setValid(true);
 
-    Stack<PsiClassType> toSearch = new Stack<PsiClassType>();
-    for (PsiClassType type : superTypes) {
-      toSearch.push(type);
-    }
+    final WidgetValueDescriptor descriptor = getWidgetValueDescriptor(widgetType);
+    if (descriptor.isTakesValue()) {
+      final PsiClass typeParm = descriptor.getValueType();
 
-    while (!toSearch.isEmpty()) {
-      PsiClassType type = toSearch.pop();
-      for (PsiType psiType : type.getSuperTypes()) {
-        if (psiType instanceof PsiClassType) {
-          PsiClassType t = (PsiClassType) psiType;
-          if (!t.getCanonicalText().equals("java.lang.Object")) {
-            toSearch.push(t);
-          }
+      if (typeParm != null) {
+        if (!Util.typeIsAssignableFrom(typeParm, bindingType.getQualifiedName())
+            && !convertibilityMetaData.canConvert(bindingType, typeParm)
+            && !ConverterIndex.hasDefaultConverter(bindingType.getProject(), bindingType, typeParm)) {
+          validation.setValid(false);
+          validation.setExpectedWidgetType(typeParm.getQualifiedName());
         }
       }
+      else {
+        validation.setValid(false);
+        validation.setExpectedWidgetType("<invalid>");
+      }
+    }
 
-      if (type.getCanonicalText().startsWith(Types.GWT_TAKES_VALUE)) {
-        PsiClass typeParm = Util.getErasedTypeParam(bindingType.getProject(), type.getCanonicalText());
+    return validation;
+  }
 
-        if (typeParm != null) {
-          if (!Util.typeIsAssignableFrom(typeParm, bindingType.getQualifiedName())
-              && !convertibilityMetaData.canConvert(bindingType, typeParm)) {
-            validation.setValid(false);
-            validation.setExpectedWidgetType(typeParm.getQualifiedName());
+  /**
+   * Returns how the specified widget class accepts values. The descriptor is cached on the class until the structure
+   * of any class or the project roots change.
+   */
+  public static WidgetValueDescriptor getWidgetValueDescriptor(final PsiClass widgetType) {
+    final Project project = widgetType.getProject();
+    return CachedValuesManager.getManager(project).getCachedValue(widgetType, WIDGET_VALUE_DESCRIPTOR_KEY,
+        new CachedValueProvider<WidgetValueDescriptor>() {
+          @Override
+          public Result<WidgetValueDescriptor> compute() {
+            return Result.create(buildWidgetValueDescriptor(widgetType),
+                PsiModificationTracker.JAVA_STRUCTURE_MODIFICATION_COUNT, ProjectRootManager.getInstance(project));
           }
-        }
-        else {
-          validation.setValid(false);
-          validation.setExpectedWidgetType("<invalid>");
-        }
-        break;
-      }
-      else if (!validation.isValid() && Util.typeIsAssignableFrom(widgetType, Types.GWT_HAS_TEXT)) {
-        validation.setValid(true);
-        break;
-      }
+        }, false);
+  }
+
+  private static WidgetValueDescriptor buildWidgetValueDescriptor(PsiClass widgetType) {
+    final Project project = widgetType.getProject();
+    final JavaPsiFacade facade = JavaPsiFacade.getInstance(project);
+    final GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+
+    final PsiClass takesValue = facade.findClass(Types.GWT_TAKES_VALUE, scope);
+    if (takesValue == null || !widgetType.isInheritor(takesValue, true)) {
+      return new WidgetValueDescriptor(false, null);
     }
 
+    final PsiTypeParameter[] typeParameters = takesValue.getTypeParameters();
+    if (typeParameters.length == 0) {
+      return new WidgetValueDescriptor(true, null);
+    }
 
-    return validation;
+    final PsiSubstitutor substitutor
+        = TypeConversionUtil.getSuperClassSubstitutor(takesValue, widgetType, PsiSubstitutor.EMPTY);
+    final PsiClass valueType = PsiUtil.resolveClassInType(substitutor.substitute(typeParameters[0]));
+
+    return new WidgetValueDescriptor(true, valueType instanceof PsiTypeParameter ? null : valueType);
   }
 
   public static String getPropertyFromAccessor(String s) {
@@ -340,7 +423,8 @@ public class DataBindUtil {
 
   public static ConvertibilityMetaData getConvertibilityMetaData(PsiClass propertyType, PsiAnnotation boundAnnotation) {
     final JavaPsiFacade instance = JavaPsiFacade.getInstance(boundAnnotation.getProject());
-    final ConvertibilityMetaData cm = new ConvertibilityMetaData(instance);
+    final DefaultConversions defaultConversions = DefaultConversions.getInstance(boundAnnotation.getProject());
+    final ConvertibilityMetaData cm = new ConvertibilityMetaData(defaultConversions);
 
     final List<String> parms = Util.getErasedTypeParamsCanonicalText(Util.getAttributeValue(boundAnnotation, "converter", DefaultPolicy.NULL));
 
@@ -355,7 +439,7 @@ public class DataBindUtil {
       }
 
       final SuperTypeInfo superTypeInfo = Util.getTypeInformation(psiClass, Types.CONVERTER);
-      final ConvertibilityMetaData metaData = new ConvertibilityMetaData(instance);
+      final ConvertibilityMetaData metaData = new ConvertibilityMetaData(defaultConversions);
 
       if (superTypeInfo != null) {
         final String qualifiedName = superTypeInfo.getTypeParms().get(0);
@@ -379,21 +463,7 @@ public class DataBindUtil {
   }
 
   public static Set<String> getConfiguredBindableTypes(Project project) {
-    final Set<String> bindableTypes = new HashSet<String>();
-
-    for (PsiFile file : Util.getAllErraiAppProperties(project)) {
-      for (IProperty property
-          : PropertiesUtil.findAllProperties(project, PropertiesUtil.getResourceBundle(file), "errai.ui.bindableTypes")) {
-        final String value = property.getValue();
-        if (value != null) {
-          for (String s : value.split("\\s+")) {
-            bindableTypes.add(s.trim());
-          }
-        }
-      }
-    }
-
-    return bindableTypes;
+    return ErraiAppConfiguration.getInstance(project).getBindableTypes();
   }
 
   public static boolean typeIsBindable(PsiClass psiClass) {
@@ -401,38 +471,38 @@ public class DataBindUtil {
         && !getConfiguredBindableTypes(psiClass.getProject()).contains(psiClass.getQualifiedName()));
   }
 
+  /**
+   * Returns the top-level classes in the project binding a model which is, or transitively contains, the specified
+   * model class. Only the owners of bound models able to contain the class are examined.
+   */
   public static Collection<PsiClass> getModelOwners(PsiClass modelClass) {
     final Project project = modelClass.getProject();
+    final PsiShortNamesCache shortNamesCache = PsiShortNamesCache.getInstance(project);
+    final GlobalSearchScope scope = allScope(project);
 
-    final PsiClass autoBoundPsi = JavaPsiFacade.getInstance(project).findClass(Types.AUTO_BOUND,
-        allScope(project));
-    final PsiClass modelPsi = JavaPsiFacade.getInstance(project).findClass(Types.MODEL,
-        allScope(project));
-
-    final Collection<PsiClass> boundElements = new HashSet<PsiClass>();
-    findClassesWithInjectedModelByAnnotation(boundElements, modelClass, autoBoundPsi, project);
-    findClassesWithInjectedModelByAnnotation(boundElements, modelClass, modelPsi, project);
-    return boundElements;
-  }
-
-  private static void findClassesWithInjectedModelByAnnotation(Collection<PsiClass> found,
-                                                               PsiClass modelClass,
-                                                               PsiClass annotation,
-                                                               Project project) {
+    final Collection<PsiClass> owners = new HashSet<PsiClass>();
+    for (String modelName : BoundModelIndex.getBoundModelNames(project)) {
+      if (!anyModelApplicable(shortNamesCache.getClassesByName(modelName, scope), modelClass)) {
+        continue;
+      }
 
-    for (PsiElement element : searchPsiFields(annotation, projectScope(project))) {
-      final BoundMetaData metaData = getBoundMetaData(element);
-      if (metaData != null && metaData.isModelApplicable(modelClass)) {
-        found.add(PsiUtil.getTopLevelClass(element));
+      for (PsiClass candidate : BoundModelIndex.getCandidateOwners(project, modelName)) {
+        final PsiClass boundClass = getDataBindingMetaData(candidate).getBoundClass();
+        if (boundClass != null && BoundMetaData.isModelApplicable(boundClass, modelClass)) {
+          owners.add(candidate);
+        }
       }
     }
+    return owners;
+  }
 
-    for (PsiElement element : searchPsiParameters(annotation, projectScope(project))) {
-      final BoundMetaData metaData = getBoundMetaData(element);
-      if (metaData != null && metaData.isModelApplicable(modelClass)) {
-        found.add(PsiUtil.getTopLevelClass(element));
+  private static boolean anyModelApplicable(PsiClass[] boundClasses, PsiClass modelClass) {
+    for (PsiClass boundClass : boundClasses) {
+      if (BoundMetaData.isModelApplicable(boundClass, modelClass)) {
+        return true;
       }
     }
+    return false;
   }
 
   public static String renderBindingAnnotationString(BindingType type) {
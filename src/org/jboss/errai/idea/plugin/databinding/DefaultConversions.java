@@ -0,0 +1,106 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.databinding;
+
+import com.google.common.collect.ImmutableSetMultimap;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+
+/**
+ * The conversions Errai data binding performs without a converter, by fully qualified name. Only conversions between
+ * types available to the project are included, so the table is rebuilt when the project roots (and with them the
+ * JDK) change.
+ */
+public class DefaultConversions {
+  private final CachedValue<ImmutableSetMultimap<String, String>> conversions;
+
+  public DefaultConversions(final Project project) {
+    this.conversions = CachedValuesManager.getManager(project).createCachedValue(
+        new CachedValueProvider<ImmutableSetMultimap<String, String>>() {
+          @Override
+          public Result<ImmutableSetMultimap<String, String>> compute() {
+            return Result.create(createDefaults(project), ProjectRootManager.getInstance(project));
+          }
+        }, false);
+  }
+
+  public static DefaultConversions getInstance(Project project) {
+    return ServiceManager.getService(project, DefaultConversions.class);
+  }
+
+  public boolean canConvert(String from, String to) {
+    return conversions.getValue().containsEntry(from, to);
+  }
+
+  private static ImmutableSetMultimap<String, String> createDefaults(Project project) {
+    final TypeMapBuilder resolver = new TypeMapBuilder(project);
+
+    resolver.addSymmetric(Integer.class, String.class);
+    resolver.addSymmetric(Long.class, String.class);
+    resolver.addSymmetric(Double.class, String.class);
+    resolver.addSymmetric(Boolean.class, String.class);
+    resolver.addSymmetric(Date.class, String.class);
+    resolver.addSymmetric(BigDecimal.class, String.class);
+    resolver.addSymmetric(BigInteger.class, String.class);
+
+    return resolver.getDefaultsMap();
+  }
+
+  private static class TypeMapBuilder {
+    private final JavaPsiFacade facade;
+    private final GlobalSearchScope scope;
+    private final ImmutableSetMultimap.Builder<String, String> defaultsMap = ImmutableSetMultimap.builder();
+
+    private TypeMapBuilder(Project project) {
+      this.facade = JavaPsiFacade.getInstance(project);
+      this.scope = GlobalSearchScope.allScope(project);
+    }
+
+    public void addSymmetric(Class a, Class b) {
+      add(a, b);
+      add(b, a);
+    }
+
+    public void add(Class from, Class to) {
+      add(from.getName(), to.getName());
+    }
+
+    public void add(String from, String to) {
+      if (exists(from) && exists(to)) {
+        defaultsMap.put(from, to);
+      }
+    }
+
+    private boolean exists(String fqcn) {
+      return facade.findClass(fqcn, scope) != null;
+    }
+
+    public ImmutableSetMultimap<String, String> getDefaultsMap() {
+      return defaultsMap.build();
+    }
+  }
+}
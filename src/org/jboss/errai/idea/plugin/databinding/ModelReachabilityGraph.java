@@ -0,0 +1,144 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.databinding;
+
+import com.google.common.collect.ImmutableSet;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The types reachable from a model through its fields, by fully qualified name. The fields of each class and the
+ * transitive closure of each model are computed once and kept until the structure of any class changes, and the walk
+ * visits every class only once, so self-referential models terminate.
+ * <p>
+ * Only classes in the project sources are expanded: a library class cannot declare a field of a project type, so
+ * library classes are reachable but contribute no further types.
+ */
+public class ModelReachabilityGraph {
+  private final Project project;
+  private final CachedValue<Graph> graph;
+
+  private static class Graph {
+    private final ConcurrentMap<String, Set<String>> fieldTypes = new ConcurrentHashMap<String, Set<String>>();
+    private final ConcurrentMap<String, Set<String>> closures = new ConcurrentHashMap<String, Set<String>>();
+  }
+
+  public ModelReachabilityGraph(final Project project) {
+    this.project = project;
+    this.graph = CachedValuesManager.getManager(project).createCachedValue(new CachedValueProvider<Graph>() {
+      @Override
+      public Result<Graph> compute() {
+        return Result.create(new Graph(), PsiModificationTracker.JAVA_STRUCTURE_MODIFICATION_COUNT,
+            ProjectRootManager.getInstance(project));
+      }
+    }, false);
+  }
+
+  public static ModelReachabilityGraph getInstance(Project project) {
+    return ServiceManager.getService(project, ModelReachabilityGraph.class);
+  }
+
+  /**
+   * Returns true if the specified model class is the bound class or is reachable from it through fields.
+   */
+  public boolean isReachable(PsiClass boundClass, PsiClass modelClass) {
+    final String boundName = boundClass.getQualifiedName();
+    final String modelName = modelClass.getQualifiedName();
+    return boundName != null && modelName != null && getReachableTypes(boundName).contains(modelName);
+  }
+
+  /**
+   * Returns the fully qualified names of all types reachable from the specified class, including itself.
+   */
+  public Set<String> getReachableTypes(String qualifiedName) {
+    final Graph currentGraph = graph.getValue();
+
+    Set<String> closure = currentGraph.closures.get(qualifiedName);
+    if (closure == null) {
+      closure = computeClosure(currentGraph, qualifiedName);
+      currentGraph.closures.put(qualifiedName, closure);
+    }
+    return closure;
+  }
+
+  private Set<String> computeClosure(Graph currentGraph, String qualifiedName) {
+    final Set<String> reachable = new HashSet<String>();
+    final Deque<String> toVisit = new ArrayDeque<String>();
+    reachable.add(qualifiedName);
+    toVisit.add(qualifiedName);
+
+    while (!toVisit.isEmpty()) {
+      final String name = toVisit.poll();
+
+      final Set<String> knownClosure = currentGraph.closures.get(name);
+      if (knownClosure != null) {
+        reachable.addAll(knownClosure);
+        continue;
+      }
+
+      for (String fieldType : getFieldTypes(currentGraph, name)) {
+        if (reachable.add(fieldType)) {
+          toVisit.add(fieldType);
+        }
+      }
+    }
+    return ImmutableSet.copyOf(reachable);
+  }
+
+  private Set<String> getFieldTypes(Graph currentGraph, String qualifiedName) {
+    Set<String> types = currentGraph.fieldTypes.get(qualifiedName);
+    if (types == null) {
+      types = findFieldTypes(qualifiedName);
+      currentGraph.fieldTypes.put(qualifiedName, types);
+    }
+    return types;
+  }
+
+  private Set<String> findFieldTypes(String qualifiedName) {
+    final JavaPsiFacade facade = JavaPsiFacade.getInstance(project);
+    final PsiClass psiClass = facade.findClass(qualifiedName, GlobalSearchScope.projectScope(project));
+    if (psiClass == null) {
+      return ImmutableSet.of();
+    }
+
+    final GlobalSearchScope allScope = GlobalSearchScope.allScope(project);
+    final Set<String> types = new HashSet<String>();
+    for (PsiField field : psiClass.getAllFields()) {
+      final String typeName = field.getType().getCanonicalText();
+      if (facade.findClass(typeName, allScope) != null) {
+        types.add(typeName);
+      }
+    }
+    return ImmutableSet.copyOf(types);
+  }
+}
@@ -25,6 +25,7 @@ import com.intellij.psi.PsiReferenceProvider;
 import com.intellij.util.ProcessingContext;
 import org.jboss.errai.idea.plugin.databinding.DataBindUtil;
 import org.jboss.errai.idea.plugin.databinding.model.BeanBindingMetaData;
+import org.jboss.errai.idea.plugin.databinding.model.PropertyPathTrie;
 import org.jboss.errai.idea.plugin.util.ExpressionErrorReference;
 import org.jboss.errai.idea.plugin.util.Util;
 import org.jetbrains.annotations.NotNull;
@@ -51,7 +52,8 @@ class BeanPropertyReferenceProvider extends PsiReferenceProvider {
     }
 
     final BeanBindingMetaData metaData = DataBindUtil.getDataBindingMetaData(element);
-    PsiClass cls = metaData.getBoundClass();
+    final PsiClass boundClass = metaData.getBoundClass();
+    PropertyPathTrie.Node node = boundClass == null ? null : DataBindUtil.getPropertyPathTrie(boundClass).getRoot();
 
     final List<PsiReference> references = new ArrayList<PsiReference>();
     int cursor = 1;
@@ -63,22 +65,21 @@ class BeanPropertyReferenceProvider extends PsiReferenceProvider {
 
       cursor = rangeEnd + 1;
 
-      if (cls == null) {
+      if (node == null) {
         references.add(new ExpressionErrorReference(literalExpression, propertyName, range));
         break;
       }
 
-      final PsiClass parentType = cls;
-      final PsiClass propPsiClass
-          = DataBindUtil.getBeanPropertyType(cls, propertyName.trim());
+      final PsiClass parentType = node.getType();
+      final PropertyPathTrie.Node propertyNode = node.getChild(propertyName.trim());
 
-      if (propPsiClass == null) {
+      if (propertyNode == null) {
         references.add(new ExpressionErrorReference(literalExpression, propertyName, range));
       }
 
       references.add(new PropertyPsiReference(literalExpression, parentType, propertyName, range));
 
-      cls = propPsiClass;
+      node = propertyNode;
     }
 
     return references.toArray(new PsiReference[references.size()]);
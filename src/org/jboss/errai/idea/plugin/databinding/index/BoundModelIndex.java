@@ -0,0 +1,196 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.databinding.index;
+
+import com.intellij.openapi.fileTypes.StdFileTypes;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaCodeReferenceElement;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifierList;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiVariable;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.ScalarIndexExtension;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.intellij.util.text.CharArrayUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes Java files by the simple names of the models bound in them with <tt>@AutoBound</tt> or <tt>@Model</tt>: the
+ * annotated field or parameter type and its first type argument (<tt>DataBinder&lt;Person&gt;</tt> is keyed by
+ * <tt>DataBinder</tt> and <tt>Person</tt>).
+ */
+public class BoundModelIndex extends ScalarIndexExtension<String> {
+  public static final ID<String, Void> NAME = ID.create("errai.databinding.BoundModelIndex");
+
+  private static final String AUTO_BOUND_ANNOTATION_NAME = "AutoBound";
+  private static final String MODEL_ANNOTATION_NAME = "Model";
+
+  private static final int VERSION = 1;
+
+  @NotNull
+  @Override
+  public ID<String, Void> getName() {
+    return NAME;
+  }
+
+  @NotNull
+  @Override
+  public DataIndexer<String, Void, FileContent> getIndexer() {
+    return new DataIndexer<String, Void, FileContent>() {
+      @NotNull
+      @Override
+      public Map<String, Void> map(FileContent inputData) {
+        final CharSequence text = inputData.getContentAsText();
+        if (CharArrayUtil.indexOf(text, AUTO_BOUND_ANNOTATION_NAME, 0) == -1
+            && CharArrayUtil.indexOf(text, MODEL_ANNOTATION_NAME, 0) == -1) {
+          return Collections.emptyMap();
+        }
+
+        final PsiFile psiFile = inputData.getPsiFile();
+        if (!(psiFile instanceof PsiJavaFile)) {
+          return Collections.emptyMap();
+        }
+
+        final Map<String, Void> result = new HashMap<String, Void>();
+        for (PsiClass psiClass : ((PsiJavaFile) psiFile).getClasses()) {
+          for (PsiVariable field : psiClass.getFields()) {
+            _indexVariable(result, field);
+          }
+
+          for (PsiMethod method : psiClass.getMethods()) {
+            for (PsiVariable parameter : method.getParameterList().getParameters()) {
+              _indexVariable(result, parameter);
+            }
+          }
+        }
+        return result;
+      }
+    };
+  }
+
+  private static void _indexVariable(Map<String, Void> result, PsiVariable variable) {
+    final PsiModifierList modifierList = variable.getModifierList();
+    if (modifierList == null || !isBindingAnnotated(modifierList)) {
+      return;
+    }
+
+    final PsiType type = variable.getType();
+    if (!(type instanceof PsiClassType)) {
+      return;
+    }
+
+    final PsiClassType classType = (PsiClassType) type;
+    result.put(classType.getClassName(), null);
+
+    final PsiType[] parameters = classType.getParameters();
+    if (parameters.length != 0 && parameters[0] instanceof PsiClassType) {
+      result.put(((PsiClassType) parameters[0]).getClassName(), null);
+    }
+  }
+
+  private static boolean isBindingAnnotated(PsiModifierList modifierList) {
+    for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+      final PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+      if (reference == null) {
+        continue;
+      }
+
+      final String name = reference.getReferenceName();
+      if (AUTO_BOUND_ANNOTATION_NAME.equals(name) || MODEL_ANNOTATION_NAME.equals(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return new EnumeratorStringDescriptor();
+  }
+
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return new FileBasedIndex.InputFilter() {
+      @Override
+      public boolean acceptInput(VirtualFile file) {
+        return file.getFileType() == StdFileTypes.JAVA;
+      }
+    };
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+  @Override
+  public int getVersion() {
+    return VERSION;
+  }
+
+  /**
+   * Returns the simple names of all types bound as models in the project.
+   */
+  @NotNull
+  public static Collection<String> getBoundModelNames(Project project) {
+    return FileBasedIndex.getInstance().getAllKeys(NAME, project);
+  }
+
+  /**
+   * Returns the top-level classes in the project which may bind a model with the specified simple name. The caller is
+   * expected to confirm each candidate by resolving its bound model.
+   */
+  @NotNull
+  public static Collection<PsiClass> getCandidateOwners(Project project, String modelName) {
+    final Collection<VirtualFile> files = FileBasedIndex.getInstance()
+        .getContainingFiles(NAME, modelName, GlobalSearchScope.projectScope(project));
+
+    if (files.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    final PsiManager psiManager = PsiManager.getInstance(project);
+    final List<PsiClass> candidates = new ArrayList<PsiClass>();
+    for (VirtualFile file : files) {
+      final PsiFile psiFile = psiManager.findFile(file);
+      if (psiFile instanceof PsiJavaFile) {
+        Collections.addAll(candidates, ((PsiJavaFile) psiFile).getClasses());
+      }
+    }
+    return candidates;
+  }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.databinding.index;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.intellij.openapi.fileTypes.StdFileTypes;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaCodeReferenceElement;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiModifierList;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.ProjectScope;
+import com.intellij.psi.search.searches.ClassInheritorsSearch;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import com.intellij.util.text.CharArrayUtil;
+import org.jboss.errai.idea.plugin.util.SuperTypeInfo;
+import org.jboss.errai.idea.plugin.util.Types;
+import org.jboss.errai.idea.plugin.util.Util;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes the classes in Java files directly implementing the Errai data binding <tt>Converter</tt> interface by the
+ * simple names of their model and widget type arguments, joined by <tt>-&gt;</tt>. The value records the qualified name
+ * of each converter and whether it is a <tt>@DefaultConverter</tt>.
+ */
+public class ConverterIndex extends FileBasedIndexExtension<String, List<ConverterIndexEntry>> {
+  public static final ID<String, List<ConverterIndexEntry>> NAME = ID.create("errai.databinding.ConverterIndex");
+
+  private static final String CONVERTER_INTERFACE_NAME = "Converter";
+  private static final String DEFAULT_CONVERTER_ANNOTATION_NAME = "DefaultConverter";
+
+  private static final int VERSION = 1;
+
+  private static final Key<CachedValue<ListMultimap<String, ConverterIndexEntry>>> LIBRARY_CONVERTERS_KEY
+      = Key.create("LIBRARY_CONVERTERS_KEY");
+
+  @NotNull
+  @Override
+  public ID<String, List<ConverterIndexEntry>> getName() {
+    return NAME;
+  }
+
+  @NotNull
+  @Override
+  public DataIndexer<String, List<ConverterIndexEntry>, FileContent> getIndexer() {
+    return new DataIndexer<String, List<ConverterIndexEntry>, FileContent>() {
+      @NotNull
+      @Override
+      public Map<String, List<ConverterIndexEntry>> map(FileContent inputData) {
+        if (CharArrayUtil.indexOf(inputData.getContentAsText(), CONVERTER_INTERFACE_NAME, 0) == -1) {
+          return Collections.emptyMap();
+        }
+
+        final PsiFile psiFile = inputData.getPsiFile();
+        if (!(psiFile instanceof PsiJavaFile)) {
+          return Collections.emptyMap();
+        }
+
+        final Map<String, List<ConverterIndexEntry>> result = new HashMap<String, List<ConverterIndexEntry>>();
+        for (PsiClass psiClass : ((PsiJavaFile) psiFile).getClasses()) {
+          _indexClass(result, psiClass);
+        }
+        return result;
+      }
+    };
+  }
+
+  private static void _indexClass(Map<String, List<ConverterIndexEntry>> result, PsiClass psiClass) {
+    final String qualifiedName = psiClass.getQualifiedName();
+    if (qualifiedName != null && !psiClass.isInterface()) {
+      for (PsiClassType type : psiClass.getImplementsListTypes()) {
+        if (!CONVERTER_INTERFACE_NAME.equals(type.getClassName())) {
+          continue;
+        }
+
+        final PsiType[] parameters = type.getParameters();
+        if (parameters.length != 2
+            || !(parameters[0] instanceof PsiClassType) || !(parameters[1] instanceof PsiClassType)) {
+          continue;
+        }
+
+        final String key = getKey(((PsiClassType) parameters[0]).getClassName(),
+            ((PsiClassType) parameters[1]).getClassName());
+
+        List<ConverterIndexEntry> entries = result.get(key);
+        if (entries == null) {
+          result.put(key, entries = new ArrayList<ConverterIndexEntry>(1));
+        }
+        entries.add(new ConverterIndexEntry(qualifiedName, isDefaultConverter(psiClass)));
+      }
+    }
+
+    for (PsiClass innerClass : psiClass.getInnerClasses()) {
+      _indexClass(result, innerClass);
+    }
+  }
+
+  private static boolean isDefaultConverter(PsiClass psiClass) {
+    final PsiModifierList modifierList = psiClass.getModifierList();
+    if (modifierList == null) {
+      return false;
+    }
+
+    for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+      final PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+      if (reference != null && DEFAULT_CONVERTER_ANNOTATION_NAME.equals(reference.getReferenceName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String getKey(String modelTypeName, String widgetTypeName) {
+    return modelTypeName + "->" + widgetTypeName;
+  }
+
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return new EnumeratorStringDescriptor();
+  }
+
+  @Override
+  public DataExternalizer<List<ConverterIndexEntry>> getValueExternalizer() {
+    return new DataExternalizer<List<ConverterIndexEntry>>() {
+      @Override
+      public void save(DataOutput out, List<ConverterIndexEntry> value) throws IOException {
+        DataInputOutputUtil.writeINT(out, value.size());
+        for (ConverterIndexEntry entry : value) {
+          IOUtil.writeUTF(out, entry.getQualifiedName());
+          out.writeBoolean(entry.isDefaultConverter());
+        }
+      }
+
+      @Override
+      public List<ConverterIndexEntry> read(DataInput in) throws IOException {
+        final int size = DataInputOutputUtil.readINT(in);
+        final List<ConverterIndexEntry> entries = new ArrayList<ConverterIndexEntry>(size);
+        for (int i = 0; i < size; i++) {
+          entries.add(new ConverterIndexEntry(IOUtil.readUTF(in), in.readBoolean()));
+        }
+        return entries;
+      }
+    };
+  }
+
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return new FileBasedIndex.InputFilter() {
+      @Override
+      public boolean acceptInput(VirtualFile file) {
+        return file.getFileType() == StdFileTypes.JAVA;
+      }
+    };
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+  @Override
+  public int getVersion() {
+    return VERSION;
+  }
+
+  /**
+   * Returns the converters in the project and its libraries converting between the specified model and widget types.
+   * Project sources are looked up in this index; compiled library classes are not indexed, so library converters are
+   * found with an inheritor search which is cached until the project roots change.
+   */
+  @NotNull
+  public static List<ConverterIndexEntry> getConverters(Project project, PsiClass modelType, PsiClass widgetType) {
+    final String modelName = modelType.getQualifiedName();
+    final String widgetName = widgetType.getQualifiedName();
+    if (modelName == null || widgetName == null) {
+      return Collections.emptyList();
+    }
+
+    final GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+    final JavaPsiFacade facade = JavaPsiFacade.getInstance(project);
+    final List<ConverterIndexEntry> converters
+        = new ArrayList<ConverterIndexEntry>(getLibraryConverters(project).get(getKey(modelName, widgetName)));
+
+    for (List<ConverterIndexEntry> entries
+        : FileBasedIndex.getInstance().getValues(NAME, getKey(modelType.getName(), widgetType.getName()), scope)) {
+      for (ConverterIndexEntry entry : entries) {
+        final PsiClass converterClass = facade.findClass(entry.getQualifiedName(), scope);
+        if (converterClass == null) {
+          continue;
+        }
+
+        final SuperTypeInfo typeInfo = Util.getTypeInformation(converterClass, Types.CONVERTER);
+        if (typeInfo != null && typeInfo.getTypeParms().size() == 2
+            && modelName.equals(typeInfo.getTypeParms().get(0))
+            && widgetName.equals(typeInfo.getTypeParms().get(1))) {
+          converters.add(entry);
+        }
+      }
+    }
+    return converters;
+  }
+
+  /**
+   * Returns the converters in the libraries of the project, keyed by the fully qualified names of their model and
+   * widget types.
+   */
+  private static ListMultimap<String, ConverterIndexEntry> getLibraryConverters(final Project project) {
+    return CachedValuesManager.getManager(project).getCachedValue(project, LIBRARY_CONVERTERS_KEY,
+        new CachedValueProvider<ListMultimap<String, ConverterIndexEntry>>() {
+          @Override
+          public Result<ListMultimap<String, ConverterIndexEntry>> compute() {
+            return Result.create(findLibraryConverters(project), ProjectRootManager.getInstance(project));
+          }
+        }, false);
+  }
+
+  private static ListMultimap<String, ConverterIndexEntry> findLibraryConverters(Project project) {
+    final PsiClass converterInterface = JavaPsiFacade.getInstance(project)
+        .findClass(Types.CONVERTER, GlobalSearchScope.allScope(project));
+    if (converterInterface == null) {
+      return ImmutableListMultimap.of();
+    }
+
+    final ImmutableListMultimap.Builder<String, ConverterIndexEntry> converters = ImmutableListMultimap.builder();
+    for (PsiClass converterClass
+        : ClassInheritorsSearch.search(converterInterface, ProjectScope.getLibrariesScope(project), true)) {
+      final String qualifiedName = converterClass.getQualifiedName();
+      if (qualifiedName == null || converterClass.isInterface()
+          || converterClass.hasModifierProperty(PsiModifier.ABSTRACT)) {
+        continue;
+      }
+
+      final SuperTypeInfo typeInfo = Util.getTypeInformation(converterClass, Types.CONVERTER);
+      if (typeInfo != null && typeInfo.getTypeParms().size() == 2) {
+        converters.put(getKey(typeInfo.getTypeParms().get(0), typeInfo.getTypeParms().get(1)),
+            new ConverterIndexEntry(qualifiedName, Util.elementIsAnnotated(converterClass, Types.DEFAULT_CONVERTER)));
+      }
+    }
+    return converters.build();
+  }
+
+  /**
+   * Returns true if a <tt>@DefaultConverter</tt> converts between the specified model and widget types.
+   */
+  public static boolean hasDefaultConverter(Project project, PsiClass modelType, PsiClass widgetType) {
+    for (ConverterIndexEntry entry : getConverters(project, modelType, widgetType)) {
+      if (entry.isDefaultConverter()) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.databinding.index;
+
+/**
+ * A single <tt>Converter</tt> implementation recorded by the {@link ConverterIndex}.
+ */
+public class ConverterIndexEntry {
+  private final String qualifiedName;
+  private final boolean defaultConverter;
+
+  public ConverterIndexEntry(String qualifiedName, boolean defaultConverter) {
+    this.qualifiedName = qualifiedName;
+    this.defaultConverter = defaultConverter;
+  }
+
+  public String getQualifiedName() {
+    return qualifiedName;
+  }
+
+  /**
+   * Returns true if the converter is annotated with <tt>@DefaultConverter</tt>, and so is used by every binding
+   * between its types which does not name a converter.
+   */
+  public boolean isDefaultConverter() {
+    return defaultConverter;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof ConverterIndexEntry)) return false;
+
+    final ConverterIndexEntry that = (ConverterIndexEntry) o;
+    return defaultConverter == that.defaultConverter
+        && qualifiedName.equals(that.qualifiedName);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * qualifiedName.hashCode() + (defaultConverter ? 1 : 0);
+  }
+}
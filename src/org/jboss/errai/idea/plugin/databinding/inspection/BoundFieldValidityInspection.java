@@ -30,11 +30,16 @@ import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiAnnotationMemberValue;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiElementFactory;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiNameValuePair;
 import com.intellij.psi.PsiReference;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.PsiUtil;
 import org.jboss.errai.idea.plugin.databinding.DataBindUtil;
+import org.jboss.errai.idea.plugin.databinding.index.ConverterIndex;
+import org.jboss.errai.idea.plugin.databinding.index.ConverterIndexEntry;
 import org.jboss.errai.idea.plugin.databinding.model.BindabilityValidation;
 import org.jboss.errai.idea.plugin.databinding.model.BoundMetaData;
 import org.jboss.errai.idea.plugin.databinding.model.PropertyValidation;
@@ -46,8 +51,10 @@ import org.jboss.errai.idea.plugin.util.Util;
 import org.jetbrains.annotations.Nls;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 
 /**
  * @author Mike Brock
@@ -149,44 +156,58 @@ public class BoundFieldValidityInspection extends BaseJavaLocalInspectionTool {
       }
       else if (validation.hasBindabilityProblem()) {
         final BindabilityValidation bindabilityValidation = validation.getBindabilityValidation();
-        holder.registerProblem(psiAnnotation,
-            "The widget type cannot be bound to: " + validation.getBoundType().getQualifiedName()
-                + "; widget accepts type: " + bindabilityValidation.getExpectedWidgetType(),
-            new LocalQuickFix() {
-              @NotNull
-              @Override
-              public String getName() {
-                return "Create a data binding Converter";
-              }
+        final List<LocalQuickFix> fixes = new ArrayList<LocalQuickFix>();
 
-              @NotNull
-              @Override
-              public String getFamilyName() {
-                return GroupNames.BUGS_GROUP_NAME;
-              }
+        final Project project = psiAnnotation.getProject();
+        final PsiClass expectedWidgetType = JavaPsiFacade.getInstance(project)
+            .findClass(bindabilityValidation.getExpectedWidgetType(), GlobalSearchScope.allScope(project));
+        if (expectedWidgetType != null) {
+          for (ConverterIndexEntry converter
+              : ConverterIndex.getConverters(project, validation.getBoundType(), expectedWidgetType)) {
+            fixes.add(new UseConverterQuickFix(psiAnnotation, converter.getQualifiedName()));
+          }
+        }
+
+        fixes.add(new LocalQuickFix() {
+          @NotNull
+          @Override
+          public String getName() {
+            return "Create a data binding Converter";
+          }
 
-              @Override
-              public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
-                final String name = validation.getBoundType().getName()
-                    + "To" + bindabilityValidation.getSimpleExpectedWidgetName() + "Converter";
-                final PsiClass topLevelClass = PsiUtil.getTopLevelClass(psiAnnotation);
-                final PsiDirectory directory = topLevelClass.getOriginalElement().getContainingFile().getParent();
-
-                FileTemplateUtil.createFileFromTemplate("Converter.java", name, directory
-                    , new HashMap<String, String>() {
-                  {
-                    put("CONVERTER_INTERFACE_TYPE", Types.CONVERTER);
-                    put("MODEL_TYPE", validation.getBoundType().getQualifiedName());
-                    put("WIDGET_TYPE", bindabilityValidation.getExpectedWidgetType());
-                  }
-                });
-
-                psiAnnotation.setDeclaredAttributeValue("converter",
-                    JavaPsiFacade.getInstance(psiAnnotation.getProject()).getElementFactory()
-                        .createAnnotationFromText("@A(converter = " + name + ".class)", null)
-                        .findDeclaredAttributeValue("converter"));
+          @NotNull
+          @Override
+          public String getFamilyName() {
+            return GroupNames.BUGS_GROUP_NAME;
+          }
+
+          @Override
+          public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+            final String name = validation.getBoundType().getName()
+                + "To" + bindabilityValidation.getSimpleExpectedWidgetName() + "Converter";
+            final PsiClass topLevelClass = PsiUtil.getTopLevelClass(psiAnnotation);
+            final PsiDirectory directory = topLevelClass.getOriginalElement().getContainingFile().getParent();
+
+            FileTemplateUtil.createFileFromTemplate("Converter.java", name, directory
+                , new HashMap<String, String>() {
+              {
+                put("CONVERTER_INTERFACE_TYPE", Types.CONVERTER);
+                put("MODEL_TYPE", validation.getBoundType().getQualifiedName());
+                put("WIDGET_TYPE", bindabilityValidation.getExpectedWidgetType());
               }
             });
+
+            psiAnnotation.setDeclaredAttributeValue("converter",
+                JavaPsiFacade.getInstance(psiAnnotation.getProject()).getElementFactory()
+                    .createAnnotationFromText("@A(converter = " + name + ".class)", null)
+                    .findDeclaredAttributeValue("converter"));
+          }
+        });
+
+        holder.registerProblem(psiAnnotation,
+            "The widget type cannot be bound to: " + validation.getBoundType().getQualifiedName()
+                + "; widget accepts type: " + bindabilityValidation.getExpectedWidgetType(),
+            fixes.toArray(new LocalQuickFix[fixes.size()]));
       }
       else {
         final String errorText = "The property '" + validation.getUnresolvedPropertyElement()
@@ -212,4 +233,39 @@ public class BoundFieldValidityInspection extends BaseJavaLocalInspectionTool {
       }
     }
   }
+
+  private static class UseConverterQuickFix implements LocalQuickFix {
+    private final PsiAnnotation psiAnnotation;
+    private final String converterName;
+
+    private UseConverterQuickFix(PsiAnnotation psiAnnotation, String converterName) {
+      this.psiAnnotation = psiAnnotation;
+      this.converterName = converterName;
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+      return "Use existing Converter: " + converterName;
+    }
+
+    @NotNull
+    @Override
+    public String getFamilyName() {
+      return GroupNames.BUGS_GROUP_NAME;
+    }
+
+    @Override
+    public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+      final PsiElementFactory elementFactory = JavaPsiFacade.getInstance(project).getElementFactory();
+      final PsiAnnotationMemberValue converter
+          = elementFactory.createAnnotationFromText("@A(converter = " + converterName + ".class)", psiAnnotation)
+          .findDeclaredAttributeValue("converter");
+
+      if (converter != null) {
+        JavaCodeStyleManager.getInstance(project)
+            .shortenClassReferences(psiAnnotation.setDeclaredAttributeValue("converter", converter));
+      }
+    }
+  }
 }
@@ -12,25 +12,30 @@ import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiAssignmentExpression;
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiCodeBlock;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementFactory;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiExpression;
 import com.intellij.psi.PsiExpressionList;
-import com.intellij.psi.PsiExpressionStatement;
 import com.intellij.psi.PsiField;
 import com.intellij.psi.PsiImportList;
 import com.intellij.psi.PsiImportStatement;
 import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMember;
 import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiReference;
 import com.intellij.psi.PsiReferenceExpression;
 import com.intellij.psi.PsiType;
 import com.intellij.psi.PsiVariable;
+import com.intellij.psi.search.LocalSearchScope;
 import com.intellij.psi.search.ProjectScope;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.util.PsiUtil;
 import org.jboss.errai.idea.plugin.databinding.DataBindUtil;
 import org.jboss.errai.idea.plugin.databinding.model.BeanBindingMetaData;
-import org.jboss.errai.idea.plugin.util.ElementFilter;
 import org.jboss.errai.idea.plugin.util.ErraiVersion;
 import org.jboss.errai.idea.plugin.util.Types;
 import org.jboss.errai.idea.plugin.util.Util;
@@ -38,9 +43,8 @@ import org.jboss.errai.idea.plugin.util.VersionSpec;
 import org.jetbrains.annotations.Nls;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -119,18 +123,16 @@ public class DataBinderCanBeModelInspection extends BaseJavaLocalInspectionTool
       final PsiClass declaringClass = PsiUtil.getTopLevelClass(annotation);
       final PsiVariable var = Util.getEnclosingVariable(annotation);
 
-      Collection<PsiElement> childrenElements;
-
       if (var == null) {
         return;
       }
 
       final String name = var.getName();
       final PsiElement owningElement = Util.getMethodOrField(annotation);
-      final Set<String> escapeSet = new HashSet<String>();
+      final Set<PsiField> escapeSet = new LinkedHashSet<PsiField>();
 
-      /** Map : getter references (key = reference to the method call; value = boolean if local to a constructor or setter injector  **/
-      final Map<PsiElement, Boolean> getModelRefExpressions = new HashMap<PsiElement, Boolean>();
+      /** Map : getter references (key = the getModel() call; value = the expression replacing it) **/
+      final Map<PsiElement, String> getModelRefExpressions = new HashMap<PsiElement, String>();
 
       class ReplaceSafety {
         boolean safe = true;
@@ -139,116 +141,69 @@ public class DataBinderCanBeModelInspection extends BaseJavaLocalInspectionTool
       final ReplaceSafety safety = new ReplaceSafety();
 
       if (owningElement instanceof PsiMethod) {
-        PsiMethod method = (PsiMethod) owningElement;
+        final PsiCodeBlock body = ((PsiMethod) owningElement).getBody();
+        if (body == null) {
+          return;
+        }
 
-        final String localVar = var.getName();
+        for (PsiReference reference : ReferencesSearch.search(var, new LocalSearchScope(body))) {
+          final PsiElement element = reference.getElement();
+          final PsiElement parent = element.getParent();
 
-        childrenElements = Util.findChildrenElements(method.getBody(), new ElementFilter() {
-          @Override
-          public boolean filter(PsiElement element) {
-            if (element instanceof PsiAssignmentExpression) {
-              return true;
-            }
-            else if (element.getChildren().length != 0) {
-              return false;
-            }
+          if (parent instanceof PsiAssignmentExpression
+              && ((PsiAssignmentExpression) parent).getRExpression() == element) {
+            final PsiExpression lExpression = ((PsiAssignmentExpression) parent).getLExpression();
+            final PsiElement target = lExpression instanceof PsiReferenceExpression
+                ? ((PsiReferenceExpression) lExpression).resolve() : null;
 
-            return element instanceof PsiExpressionStatement;
-          }
-        });
-
-        for (PsiElement element : childrenElements) {
-          if (element instanceof PsiAssignmentExpression) {
-            PsiAssignmentExpression assignmentExpression = (PsiAssignmentExpression) element;
-            final PsiExpression rExpression = assignmentExpression.getRExpression();
-            if (rExpression != null && name != null && name.equals(rExpression.getText())) {
-              String lhs = assignmentExpression.getLExpression().getText();
-              if (lhs.startsWith("this.")) {
-                lhs = lhs.substring(5);
-              }
-              escapeSet.add(lhs);
-            }
-            else if (rExpression != null) {
-              String rhs = rExpression.getText().replaceAll(" ", "");
-              if (rhs.startsWith(localVar + ".")) {
-                if (rhs.equals(localVar + ".getModel()")) {
-                  getModelRefExpressions.put(rExpression, Boolean.TRUE);
-                }
-                else {
-                  safety.safe = false;
-                  break;
-                }
-              }
+            // only an assignment to a field can be retyped along with the injection point.
+            if (!(target instanceof PsiField)) {
+              safety.safe = false;
+              break;
             }
+            escapeSet.add((PsiField) target);
+          }
+          else if (parent instanceof PsiVariable && ((PsiVariable) parent).getInitializer() == element) {
+            safety.safe = false;
+            break;
           }
-          else if (element instanceof PsiExpressionStatement) {
-            if (element.getText().indexOf('.') != -1) {
+          else if (isGetModelCall(element)) {
+            if (isChainedOrArgument(parent.getParent())) {
               safety.safe = false;
               break;
             }
+            getModelRefExpressions.put(parent.getParent(), name);
+          }
+          else if (isQualifierOrArgument(element)) {
+            safety.safe = false;
+            break;
           }
         }
       }
-      else {
-        escapeSet.add(Util.getNameOfElement(Util.getImmediateOwnerElement(annotation)));
+      else if (var instanceof PsiField) {
+        escapeSet.add((PsiField) var);
       }
 
       if (safety.safe && !escapeSet.isEmpty()) {
-        childrenElements = Util.findChildrenElements(declaringClass, new ElementFilter() {
-          @Override
-          public boolean filter(PsiElement element) {
-            if (element instanceof PsiReferenceExpression) {
-              return true;
-            }
-            else if (element.getChildren().length != 0) {
-              return false;
-            }
-
-            return element instanceof PsiExpressionStatement;
-          }
-        });
+        final LocalSearchScope fileScope = new LocalSearchScope(declaringClass.getContainingFile());
 
         DeepCheck:
-        for (PsiElement element : childrenElements) {
-          // PsiExpressionStatement psiExpressionStatement = (PsiExpressionStatement) element;
-
-          boolean refDisqualifies = false;
-
-          // if the parent is a PisExpressionList, then this is a method or constructor call. in which case
-          // an expression containing the reference means this can't be safe.
-          PsiElement el = element;
-          while ((el = el.getParent()) != null) {
-            if (el instanceof PsiExpressionList) {
-              refDisqualifies = true;
-              break;
-            }
-            else if (el instanceof PsiMethod) {
-              break;
-            }
-          }
-
-          String text = element.getText().replaceAll(" ", "");
-          for (String escaped : escapeSet) {
-            if (text.startsWith("this.")) {
-              text = text.substring(5);
-            }
-            if (text.startsWith(escaped)) {
-              if (!refDisqualifies) {
-                // there's a method call. disqualify!
-                if (text.indexOf('.') != -1) {
-                  if (text.equals(escaped + ".getModel")) {
-                    getModelRefExpressions.put(element.getParent(), Boolean.FALSE);
-                  }
-                  else {
-                    safety.safe = false;
-                    break DeepCheck;
-                  }
-                }
-              }
-              else {
+        for (PsiField escaped : escapeSet) {
+          for (PsiReference reference : ReferencesSearch.search(escaped, fileScope)) {
+            final PsiElement element = reference.getElement();
+
+            // if the reference is passed to a method or constructor, aliased, or anything other than getModel() is
+            // called on it, the DataBinder itself is used and this can't be safe.
+            if (isGetModelCall(element)) {
+              if (isChainedOrArgument(element.getParent().getParent())) {
                 safety.safe = false;
                 break DeepCheck;
               }
+              getModelRefExpressions.put(element.getParent().getParent(), "this." + escaped.getName());
+            }
+            else if (isQualifierOrArgument(element) || isAliased(element)) {
+              safety.safe = false;
+              break DeepCheck;
             }
           }
         }
@@ -309,37 +264,79 @@ public class DataBinderCanBeModelInspection extends BaseJavaLocalInspectionTool
                   var.getModifierList().addAnnotation("Inject");
                 }
 
-                if (!escapeSet.isEmpty()) {
-                  final String name = escapeSet.iterator().next();
+                for (PsiField field : escapeSet) {
+                  if (field == var || field.getTypeElement() == null) {
+                    continue;
+                  }
 
-                  for (final PsiField field : declaringClass.getAllFields()) {
-                    if (field.getName().equals(name)) {
-                      final PsiType newType
-                          = elementFactory.createTypeFromText(
-                          metaData.getBoundClass().getQualifiedName(),
-                          var.getTypeElement()
-                      );
+                  final PsiType newType
+                      = elementFactory.createTypeFromText(
+                      metaData.getBoundClass().getQualifiedName(),
+                      field.getTypeElement()
+                  );
 
-                      field.getTypeElement().getOriginalElement().replace(elementFactory.createTypeElement(newType));
-                    }
-                  }
+                  field.getTypeElement().replace(elementFactory.createTypeElement(newType));
                 }
 
-                for (Map.Entry<PsiElement, Boolean> entry : getModelRefExpressions.entrySet()) {
-                  final String replaceWithVar;
-                  if (entry.getValue()) {
-                    replaceWithVar = var.getName();
-                  }
-                  else {
-                    replaceWithVar = "this." + name;
-                  }
-
-                  final PsiExpression expression = elementFactory.createExpressionFromText(replaceWithVar, entry.getKey());
+                for (Map.Entry<PsiElement, String> entry : getModelRefExpressions.entrySet()) {
+                  final PsiExpression expression
+                      = elementFactory.createExpressionFromText(entry.getValue(), entry.getKey());
                   entry.getKey().replace(expression);
                 }
               }
             });
       }
     }
+
+    /**
+     * Returns true if the specified reference is the qualifier of a <tt>getModel()</tt> call.
+     */
+    private static boolean isGetModelCall(PsiElement reference) {
+      final PsiElement parent = reference.getParent();
+      return parent instanceof PsiReferenceExpression
+          && ((PsiReferenceExpression) parent).getQualifierExpression() == reference
+          && "getModel".equals(((PsiReferenceExpression) parent).getReferenceName())
+          && parent.getParent() instanceof PsiMethodCallExpression
+          && ((PsiMethodCallExpression) parent.getParent()).getArgumentList().getExpressions().length == 0;
+    }
+
+    /**
+     * Returns true if a member of the specified reference is accessed, or the reference is used in the arguments of
+     * a method or constructor call.
+     */
+    private static boolean isQualifierOrArgument(PsiElement reference) {
+      final PsiElement parent = reference.getParent();
+      if (parent instanceof PsiReferenceExpression
+          && ((PsiReferenceExpression) parent).getQualifierExpression() == reference) {
+        return true;
+      }
+      return isInExpressionList(reference);
+    }
+
+    /**
+     * Returns true if the specified <tt>getModel()</tt> call is itself qualified or used as a call argument.
+     */
+    private static boolean isChainedOrArgument(PsiElement call) {
+      final PsiElement parent = call.getParent();
+      if (parent instanceof PsiReferenceExpression
+          && ((PsiReferenceExpression) parent).getQualifierExpression() == call) {
+        return true;
+      }
+      return isInExpressionList(call);
+    }
+
+    /**
+     * Returns true if the specified reference is assigned to, or initializes, another variable.
+     */
+    private static boolean isAliased(PsiElement reference) {
+      final PsiElement parent = reference.getParent();
+      return (parent instanceof PsiAssignmentExpression
+          && ((PsiAssignmentExpression) parent).getRExpression() == reference)
+          || (parent instanceof PsiVariable && ((PsiVariable) parent).getInitializer() == reference);
+    }
+
+    private static boolean isInExpressionList(PsiElement element) {
+      return PsiTreeUtil.getParentOfType(element, PsiExpressionList.class, true, PsiMember.class) != null;
+    }
   }
 }
@@ -39,15 +39,12 @@ public class BeanBindingMetaData {
   private final PsiClass templateClass;
   private final PsiClass boundClass;
 
-  private final long templateClassModifyTime;
-
   private final Collection<AnnotationSearchResult> modelAnnotations;
 
   public BeanBindingMetaData(PsiClass templateClass) {
     this.versionSpec = ErraiVersion.get(templateClass);
 
     this.templateClass = templateClass;
-    templateClassModifyTime = templateClass.getContainingFile().getOriginalFile().getModificationStamp();
 
     /*
     This is so, if the user has specified more than one, we can detect and reference all of them for
@@ -133,11 +130,6 @@ public class BeanBindingMetaData {
     return configuredBindableTypes.contains(boundClass.getQualifiedName());
   }
 
-  public boolean isCacheValid() {
-    return templateClass != null && boundClass != null && templateClassModifyTime == templateClass.getContainingFile().getOriginalFile().getModificationStamp();
-
-  }
-
   public PsiClass getBoundClass() {
     return boundClass;
   }
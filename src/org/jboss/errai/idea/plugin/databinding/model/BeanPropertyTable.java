@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.databinding.model;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The bean properties of a class, as found from its public accessors.
+ */
+public class BeanPropertyTable {
+  private final Map<String, PropertyInfo> properties;
+  private final Map<String, PropertyInfo> getters;
+  private final Map<String, PropertyInfo> gettersIgnoringCase;
+
+  /**
+   * @param properties
+   *     the properties with a getter or setter not declared by <tt>java.lang.Object</tt>, in declaration order.
+   * @param getters
+   *     the properties with a getter, by property name.
+   * @param gettersIgnoringCase
+   *     the properties with a getter, by lower-cased accessor name without its <tt>get</tt> or <tt>is</tt> prefix.
+   */
+  public BeanPropertyTable(Map<String, PropertyInfo> properties,
+                           Map<String, PropertyInfo> getters,
+                           Map<String, PropertyInfo> gettersIgnoringCase) {
+    this.properties = Collections.unmodifiableMap(properties);
+    this.getters = getters;
+    this.gettersIgnoringCase = gettersIgnoringCase;
+  }
+
+  public Map<String, PropertyInfo> getProperties() {
+    return properties;
+  }
+
+  /**
+   * Returns the property with a getter matching the specified name. As with the accessors themselves, the name is
+   * matched without regard to case.
+   */
+  public PropertyInfo getReadableProperty(String property) {
+    final PropertyInfo propertyInfo = getters.get(property);
+    if (propertyInfo != null) {
+      return propertyInfo;
+    }
+    return gettersIgnoringCase.get(property.toLowerCase());
+  }
+}
@@ -16,23 +16,19 @@
 
 package org.jboss.errai.idea.plugin.databinding.model;
 
-import static com.intellij.psi.search.GlobalSearchScope.allScope;
 import static org.jboss.errai.idea.plugin.databinding.DataBindUtil.getConvertibilityMetaData;
 import static org.jboss.errai.idea.plugin.databinding.DataBindUtil.typeIsBindableToWidget;
 
-import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiField;
 import com.intellij.psi.PsiVariable;
 import org.jboss.errai.idea.plugin.databinding.DataBindUtil;
+import org.jboss.errai.idea.plugin.databinding.ModelReachabilityGraph;
 import org.jboss.errai.idea.plugin.util.DefaultPolicy;
 import org.jboss.errai.idea.plugin.util.Types;
 import org.jboss.errai.idea.plugin.util.Util;
 
-import java.util.Set;
-
 /**
  * @author Mike Brock
  */
@@ -78,28 +74,28 @@ public class BoundMetaData {
     final PsiClass boundClass = getBindingMetaData().getBoundClass();
 
     if (property != null && boundClass != null && boundClass.getParent() != null) {
-      final Set<String> bindableTypes = DataBindUtil.getConfiguredBindableTypes(boundClass.getProject());
-
-      PsiClass cls = boundClass;
+      PropertyPathTrie.Node node = DataBindUtil.getPropertyPathTrie(boundClass).getRoot();
       for (String token : property.split("\\.")) {
-        if (!bindableTypes.contains(cls.getQualifiedName()) && !Util.elementIsAnnotated(cls, Types.BINDABLE)) {
+        if (!node.isBindable()) {
           PropertyValidation validation = new PropertyValidation();
           validation.setParentBindable(false);
-          validation.setUnresolvedParent(cls);
+          validation.setUnresolvedParent(node.getType());
           validation.setUnresolvedPropertyElement(token);
           return validation;
         }
-        PsiClass result = DataBindUtil.getBeanPropertyType(cls, token.trim());
+        PropertyPathTrie.Node result = node.getChild(token.trim());
         if (result == null) {
           PropertyValidation validation = new PropertyValidation();
           validation.setParentBindable(true);
-          validation.setUnresolvedParent(cls);
+          validation.setUnresolvedParent(node.getType());
           validation.setUnresolvedPropertyElement(token);
           return validation;
         }
-        cls = result;
+        node = result;
       }
 
+      final PsiClass cls = node.getType();
+
       final PropertyValidation validation = new PropertyValidation(true);
 
       PsiVariable variable = (PsiVariable) owner;
@@ -126,36 +122,13 @@ public class BoundMetaData {
 
   public boolean isModelApplicable(PsiClass modelClass) {
     final PsiClass boundClass = getBindingMetaData().getBoundClass();
-    final JavaPsiFacade facade = JavaPsiFacade.getInstance(modelClass.getProject());
-
-    return boundClass != null && _isModelApplicable(boundClass, modelClass, facade);
+    return boundClass != null && isModelApplicable(boundClass, modelClass);
   }
 
-  private static boolean _isModelApplicable(PsiClass toCheck, PsiClass modelClass, JavaPsiFacade facade) {
-    if (toCheck == null) {
-      return false;
-    }
-
-    final String qualifiedName = toCheck.getQualifiedName();
-
-    if (qualifiedName == null) {
-      return false;
-    }
-
-    if (qualifiedName.equals(modelClass.getQualifiedName())) {
-      return true;
-    }
-
-    for (PsiField field : toCheck.getAllFields()) {
-      if (field.getType().getCanonicalText().equals(modelClass.getQualifiedName())) {
-        return true;
-      }
-
-      final PsiClass psiClass = facade.findClass(field.getType().getCanonicalText(), allScope(facade.getProject()));
-      if (_isModelApplicable(psiClass, modelClass, facade)) {
-        return true;
-      }
-    }
-    return false;
+  /**
+   * Returns true if the specified bound model is, or transitively contains a field of, the specified model class.
+   */
+  public static boolean isModelApplicable(PsiClass boundClass, PsiClass modelClass) {
+    return ModelReachabilityGraph.getInstance(modelClass.getProject()).isReachable(boundClass, modelClass);
   }
 }
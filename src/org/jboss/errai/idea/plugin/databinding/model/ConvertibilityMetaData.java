@@ -16,43 +16,59 @@
 
 package org.jboss.errai.idea.plugin.databinding.model;
 
-import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiClass;
-import com.intellij.psi.search.GlobalSearchScope;
+import org.jboss.errai.idea.plugin.databinding.DefaultConversions;
 
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
 /**
+ * The conversions available to a binding: the project's {@link DefaultConversions} plus the rules added for the
+ * binding, such as those of its converter. The defaults are shared, not copied.
+ *
  * @author Mike Brock
  */
 public class ConvertibilityMetaData {
   private boolean converterInputInvalid = false;
-  private final Map<PsiClass, Set<PsiClass>> conversionRules = new HashMap<PsiClass, Set<PsiClass>>();
+  private DefaultConversions defaultConversions;
+  private final Map<String, Set<String>> conversionRules = new HashMap<String, Set<String>>(2);
 
-  public ConvertibilityMetaData(JavaPsiFacade facade) {
-    conversionRules.putAll(getDefaultConversions(facade));
+  public ConvertibilityMetaData(DefaultConversions defaultConversions) {
+    this.defaultConversions = defaultConversions;
   }
 
   public void addConversionRule(PsiClass from, PsiClass to) {
-    Set<PsiClass> set = conversionRules.get(from);
+    if (from == null || to == null) {
+      return;
+    }
+
+    Set<String> set = conversionRules.get(from.getQualifiedName());
     if (set == null) {
-      conversionRules.put(from, set = new HashSet<PsiClass>());
+      conversionRules.put(from.getQualifiedName(), set = new HashSet<String>());
     }
-    set.add(to);
+    set.add(to.getQualifiedName());
   }
 
   public void cleareConversionRules() {
     conversionRules.clear();
+    defaultConversions = null;
   }
 
   public boolean canConvert(PsiClass from, PsiClass to) {
-    return conversionRules.containsKey(from) && conversionRules.get(from).contains(to);
+    if (from == null || to == null) {
+      return false;
+    }
+
+    final String fromName = from.getQualifiedName();
+    final String toName = to.getQualifiedName();
+
+    final Set<String> rules = conversionRules.get(fromName);
+    if (rules != null && rules.contains(toName)) {
+      return true;
+    }
+    return defaultConversions != null && defaultConversions.canConvert(fromName, toName);
   }
 
   public boolean isConverterInputInvalid() {
@@ -62,71 +78,4 @@ public class ConvertibilityMetaData {
   public void setConverterInputInvalid(boolean converterInputInvalid) {
     this.converterInputInvalid = converterInputInvalid;
   }
-
-  private static Map<PsiClass, Set<PsiClass>> _defaultConversionsCache;
-
-  public static Map<PsiClass, Set<PsiClass>> getDefaultConversions(JavaPsiFacade facade) {
-    if (_defaultConversionsCache == null) {
-      _defaultConversionsCache = createDefaults(facade);
-    }
-    return _defaultConversionsCache;
-  }
-
-  private static Map<PsiClass, Set<PsiClass>> createDefaults(JavaPsiFacade facade) {
-    final TypeMapBuilder resolver = new TypeMapBuilder(facade);
-
-    resolver.addSymmetric(Integer.class, String.class);
-    resolver.addSymmetric(Long.class, String.class);
-    resolver.addSymmetric(Double.class, String.class);
-    resolver.addSymmetric(Boolean.class, String.class);
-    resolver.addSymmetric(Date.class, String.class);
-    resolver.addSymmetric(BigDecimal.class, String.class);
-    resolver.addSymmetric(BigInteger.class, String.class);
-
-    return resolver.getDefaultsMap();
-  }
-
-  private static class TypeMapBuilder {
-    private JavaPsiFacade facade;
-    private GlobalSearchScope scope;
-    private final Map<PsiClass, Set<PsiClass>> defaultsMap = new HashMap<PsiClass, Set<PsiClass>>();
-
-    private TypeMapBuilder(JavaPsiFacade facade) {
-      this.facade = facade;
-      this.scope = GlobalSearchScope.allScope(facade.getProject());
-    }
-
-    public void addSymmetric(Class a, Class b) {
-      add(a, b);
-      add(b, a);
-    }
-
-    public void add(Class from, Class to) {
-      add(from.getName(), to.getName());
-    }
-
-    public void add(String from, String to) {
-      final PsiClass psiClass = get(from);
-
-      Set<PsiClass> list = defaultsMap.get(psiClass);
-      if (list == null) {
-        defaultsMap.put(psiClass, list = new HashSet<PsiClass>());
-      }
-
-      list.add(get(to));
-    }
-
-    public PsiClass get(Class clazz) {
-      return get(clazz.getName());
-    }
-
-    public PsiClass get(String fqcn) {
-      return facade.findClass(fqcn, scope);
-    }
-
-    public Map<PsiClass, Set<PsiClass>> getDefaultsMap() {
-      return defaultsMap;
-    }
-  }
-
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.databinding.model;
+
+import com.intellij.psi.PsiClass;
+import org.jboss.errai.idea.plugin.databinding.DataBindUtil;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The property paths of a model class which have been resolved so far. Each node is the type of a property path, and
+ * its children are resolved on first use, so bound properties sharing a prefix (<tt>address.city</tt>,
+ * <tt>address.zip</tt>) resolve the prefix once.
+ */
+public class PropertyPathTrie {
+  private static final Node UNRESOLVED = new Node(null);
+
+  private final Node root;
+
+  public PropertyPathTrie(PsiClass modelClass) {
+    this.root = new Node(modelClass);
+  }
+
+  public Node getRoot() {
+    return root;
+  }
+
+  public static class Node {
+    private final PsiClass type;
+    private final ConcurrentMap<String, Node> children = new ConcurrentHashMap<String, Node>();
+    private volatile Boolean bindable;
+
+    private Node(PsiClass type) {
+      this.type = type;
+    }
+
+    public PsiClass getType() {
+      return type;
+    }
+
+    public boolean isBindable() {
+      Boolean result = bindable;
+      if (result == null) {
+        bindable = result = DataBindUtil.typeIsBindable(type);
+      }
+      return result;
+    }
+
+    /**
+     * Returns the node of the specified property of this type, or <tt>null</tt> if this type has no readable
+     * property of that name.
+     */
+    public Node getChild(String property) {
+      Node child = children.get(property);
+      if (child == null) {
+        final PsiClass propertyType = DataBindUtil.getBeanPropertyType(type, property);
+        child = propertyType == null ? UNRESOLVED : new Node(propertyType);
+
+        final Node existing = children.putIfAbsent(property, child);
+        if (existing != null) {
+          child = existing;
+        }
+      }
+      return child == UNRESOLVED ? null : child;
+    }
+  }
+}
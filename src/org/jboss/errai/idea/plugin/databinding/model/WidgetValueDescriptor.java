@@ -0,0 +1,45 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.databinding.model;
+
+import com.intellij.psi.PsiClass;
+
+/**
+ * Describes how a widget class accepts values: whether it implements <tt>TakesValue</tt>, and the type argument it
+ * gives it.
+ */
+public class WidgetValueDescriptor {
+  private final boolean takesValue;
+  private final PsiClass valueType;
+
+  public WidgetValueDescriptor(boolean takesValue, PsiClass valueType) {
+    this.takesValue = takesValue;
+    this.valueType = valueType;
+  }
+
+  public boolean isTakesValue() {
+    return takesValue;
+  }
+
+  /**
+   * Returns the class of the <tt>TakesValue</tt> type argument, or <tt>null</tt> if the widget does not implement
+   * <tt>TakesValue</tt>, implements it raw, or leaves the argument as a type variable.
+   */
+  public PsiClass getValueType() {
+    return valueType;
+  }
+}
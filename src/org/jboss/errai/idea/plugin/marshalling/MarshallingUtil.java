@@ -19,8 +19,6 @@ package org.jboss.errai.idea.plugin.marshalling;
 import static com.intellij.psi.search.GlobalSearchScope.allScope;
 import static com.intellij.psi.search.searches.AnnotatedElementsSearch.searchPsiClasses;
 
-import com.intellij.lang.properties.IProperty;
-import com.intellij.lang.properties.PropertiesUtil;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiAnnotation;
@@ -28,10 +26,10 @@ import com.intellij.psi.PsiAnnotationMemberValue;
 import com.intellij.psi.PsiArrayInitializerMemberValue;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiClassObjectAccessExpression;
-import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiTypeElement;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.util.Query;
+import org.jboss.errai.idea.plugin.util.ErraiAppConfiguration;
 import org.jboss.errai.idea.plugin.util.Types;
 import org.jboss.errai.idea.plugin.util.Util;
 
@@ -44,29 +42,11 @@ import java.util.Set;
  */
 public class MarshallingUtil {
   public static Set<String> getAllProprtableTypes(Project project) {
-    final Set<String> bindableTypes = new HashSet<String>();
-    bindableTypes.addAll(getConfiguredPortableTypes(project));
-    bindableTypes.addAll(getAllClasspathMarshallers(project));
-    return bindableTypes;
+    return PortableTypes.getInstance(project).getPortableTypes();
   }
 
   public static Set<String> getConfiguredPortableTypes(Project project) {
-    final Set<String> bindableTypes = new HashSet<String>();
-
-    for (PsiFile file : Util.getAllErraiAppProperties(project)) {
-      for (IProperty property
-          : PropertiesUtil.findAllProperties(project,
-          PropertiesUtil.getResourceBundle(file), "errai.marshalling.serializableTypes")) {
-        final String value = property.getValue();
-        if (value != null) {
-          for (String s : value.split("\\s+")) {
-            bindableTypes.add(s.trim());
-          }
-        }
-      }
-    }
-
-    return bindableTypes;
+    return ErraiAppConfiguration.getInstance(project).getSerializableTypes();
   }
 
   public static Set<String> getAllClasspathMarshallers(Project project) {
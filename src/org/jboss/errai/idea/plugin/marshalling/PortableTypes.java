@@ -0,0 +1,148 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.marshalling;
+
+import com.google.common.collect.ImmutableSet;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import org.jboss.errai.idea.plugin.util.CacheService;
+import org.jboss.errai.idea.plugin.util.CacheStatistics;
+import org.jboss.errai.idea.plugin.util.ErraiAppConfiguration;
+import org.jboss.errai.idea.plugin.util.Util;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A snapshot of the fully qualified names of all portable types in a project: the configured serializable types, the
+ * <tt>@Portable</tt> classes and the types handled by marshallers and custom mappings. The snapshot is rebuilt when
+ * the structure of any class, the <tt>ErraiApp.properties</tt> configuration or the project roots change. Its usage
+ * is reported with the other plugin caches by the {@link CacheService}.
+ * <p>
+ * The types fields may be declared as to hold a portable value, which include the supertypes of every portable
+ * type, are precomputed alongside so that checking a field does not resolve any classes.
+ */
+public class PortableTypes {
+  private static final String STATISTICS_NAME = "PortableTypes";
+
+  private final CachedValue<ImmutableSet<String>> portableTypes;
+  private final CachedValue<ImmutableSet<String>> compatibleTypes;
+  private final CacheStatistics statistics;
+
+  /**
+   * Set by the provider on the thread computing the snapshot. The provider runs on the thread asking for the value, so
+   * a lookup is a hit unless its own thread computed the snapshot.
+   */
+  private final ThreadLocal<Boolean> computedOnThisThread = new ThreadLocal<Boolean>();
+
+  public PortableTypes(final Project project) {
+    this.statistics = CacheService.getInstance(project).getStatistics(STATISTICS_NAME);
+    this.portableTypes = CachedValuesManager.getManager(project).createCachedValue(
+        new CachedValueProvider<ImmutableSet<String>>() {
+          @Override
+          public Result<ImmutableSet<String>> compute() {
+            final long start = System.nanoTime();
+            final ImmutableSet<String> types = ImmutableSet.<String>builder()
+                .addAll(MarshallingUtil.getConfiguredPortableTypes(project))
+                .addAll(MarshallingUtil.getAllClasspathMarshallers(project))
+                .build();
+
+            computedOnThisThread.set(Boolean.TRUE);
+            statistics.recordMiss(System.nanoTime() - start);
+            statistics.setEntryCount(types.size());
+
+            return Result.create(types, PsiModificationTracker.JAVA_STRUCTURE_MODIFICATION_COUNT,
+                ErraiAppConfiguration.getInstance(project), ProjectRootManager.getInstance(project));
+          }
+        }, false);
+
+    this.compatibleTypes = CachedValuesManager.getManager(project).createCachedValue(
+        new CachedValueProvider<ImmutableSet<String>>() {
+          @Override
+          public Result<ImmutableSet<String>> compute() {
+            return Result.create(buildCompatibleTypes(project, getPortableTypes()),
+                PsiModificationTracker.JAVA_STRUCTURE_MODIFICATION_COUNT,
+                ErraiAppConfiguration.getInstance(project), ProjectRootManager.getInstance(project));
+          }
+        }, false);
+  }
+
+  public static PortableTypes getInstance(Project project) {
+    return ServiceManager.getService(project, PortableTypes.class);
+  }
+
+  public ImmutableSet<String> getPortableTypes() {
+    computedOnThisThread.set(Boolean.FALSE);
+    final ImmutableSet<String> types = portableTypes.getValue();
+    if (!computedOnThisThread.get()) {
+      statistics.recordHit();
+    }
+    computedOnThisThread.remove();
+    return types;
+  }
+
+  /**
+   * Returns true if a field of the specified type can hold a portable value: the type is portable itself, or it is a
+   * superclass or interface of a portable type.
+   */
+  public boolean isPortableCompatible(String canonicalText) {
+    final ImmutableSet<String> types = compatibleTypes.getValue();
+    return types.contains(Util.boxedType(canonicalText)) || types.contains(canonicalText);
+  }
+
+  private static ImmutableSet<String> buildCompatibleTypes(Project project, Set<String> portableTypes) {
+    final JavaPsiFacade facade = JavaPsiFacade.getInstance(project);
+    final GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+
+    final Set<String> compatible = new HashSet<String>(portableTypes);
+    final Set<PsiClass> visited = new HashSet<PsiClass>();
+    for (String type : portableTypes) {
+      if (Object.class.getName().equals(type)) {
+        continue;
+      }
+
+      final PsiClass psiClass = facade.findClass(type, scope);
+      if (psiClass != null) {
+        _addSupers(compatible, visited, psiClass);
+      }
+    }
+    return ImmutableSet.copyOf(compatible);
+  }
+
+  private static void _addSupers(Set<String> compatible, Set<PsiClass> visited, PsiClass psiClass) {
+    if (!visited.add(psiClass)) {
+      return;
+    }
+
+    final String qualifiedName = psiClass.getQualifiedName();
+    if (qualifiedName != null) {
+      compatible.add(qualifiedName);
+    }
+
+    for (PsiClass superClass : psiClass.getSupers()) {
+      _addSupers(compatible, visited, superClass);
+    }
+  }
+}
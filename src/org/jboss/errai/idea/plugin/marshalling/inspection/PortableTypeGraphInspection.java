@@ -0,0 +1,354 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.marshalling.inspection;
+
+import com.intellij.analysis.AnalysisScope;
+import com.intellij.codeHighlighting.HighlightDisplayLevel;
+import com.intellij.codeInsight.daemon.GroupNames;
+import com.intellij.codeInspection.GlobalInspectionContext;
+import com.intellij.codeInspection.GlobalInspectionTool;
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.ProblemDescriptionsProcessor;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.reference.RefElement;
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Computable;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiArrayType;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiModifierList;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiTypeParameter;
+import com.intellij.psi.PsiWildcardType;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.AnnotatedElementsSearch;
+import com.intellij.util.Processor;
+import org.jboss.errai.idea.plugin.marshalling.PortableTypes;
+import org.jboss.errai.idea.plugin.util.ErraiVersion;
+import org.jboss.errai.idea.plugin.util.Types;
+import org.jboss.errai.idea.plugin.util.VersionSpec;
+import org.jetbrains.annotations.Nls;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Walks the field types of every <tt>@Portable</tt> class in the analysis scope, through the portable classes in the
+ * project sources, and reports the path to every field whose type is not portable. Field types are tested with the
+ * same predicate as the local portable type inspection. Roots are walked concurrently and share the non-portable paths
+ * found below each class.
+ */
+public class PortableTypeGraphInspection extends GlobalInspectionTool {
+  /**
+   * The maximum number of non-portable paths recorded below a single class, which keeps models with many shared
+   * non-portable types from producing a combinatorial number of reports.
+   */
+  private static final int MAX_PATHS_PER_TYPE = 100;
+
+  @Nls
+  @NotNull
+  @Override
+  public String getDisplayName() {
+    return "Ensure the object graphs of Errai portable types are portable";
+  }
+
+  @Nls
+  @NotNull
+  @Override
+  public String getGroupDisplayName() {
+    return GroupNames.BUGS_GROUP_NAME;
+  }
+
+  @NotNull
+  @Override
+  public String getShortName() {
+    return "PortableTypeGraphIsValid";
+  }
+
+  @NotNull
+  @Override
+  public HighlightDisplayLevel getDefaultLevel() {
+    return HighlightDisplayLevel.WARNING;
+  }
+
+  @Override
+  public boolean isEnabledByDefault() {
+    return true;
+  }
+
+  @Override
+  public boolean isGraphNeeded() {
+    return false;
+  }
+
+  @Override
+  public void runInspection(final AnalysisScope scope,
+                            final InspectionManager manager,
+                            final GlobalInspectionContext globalContext,
+                            final ProblemDescriptionsProcessor problemDescriptionsProcessor) {
+
+    final Project project = manager.getProject();
+    final List<PsiClass> roots = ApplicationManager.getApplication().runReadAction(new Computable<List<PsiClass>>() {
+      @Override
+      public List<PsiClass> compute() {
+        return findRoots(project, scope);
+      }
+    });
+
+    if (roots.isEmpty()) {
+      return;
+    }
+
+    final PortableTypes portableTypes = PortableTypes.getInstance(project);
+    final ConcurrentMap<String, List<NonPortablePath>> pathsByType
+        = new ConcurrentHashMap<String, List<NonPortablePath>>();
+    final Queue<Problem> problems = new ConcurrentLinkedQueue<Problem>();
+
+    JobLauncher.getInstance().invokeConcurrentlyUnderProgress(roots,
+        ProgressManager.getInstance().getProgressIndicator(), false, new Processor<PsiClass>() {
+      @Override
+      public boolean process(final PsiClass root) {
+        ApplicationManager.getApplication().runReadAction(new Runnable() {
+          @Override
+          public void run() {
+            final GraphWalk walk = new GraphWalk(portableTypes, pathsByType);
+            for (NonPortablePath path : walk.walk(root).paths) {
+              problems.add(new Problem(root, path));
+            }
+          }
+        });
+        return true;
+      }
+    });
+
+    ApplicationManager.getApplication().runReadAction(new Runnable() {
+      @Override
+      public void run() {
+        for (Problem problem : problems) {
+          final RefElement reference = globalContext.getRefManager().getReference(problem.root);
+          if (reference == null) {
+            continue;
+          }
+
+          problemDescriptionsProcessor.addProblemElement(reference,
+              manager.createProblemDescriptor(problem.getElement(),
+                  "Type " + problem.path.leafType + " is not portable but is reachable from portable type "
+                      + problem.root.getName() + " through: " + problem.path.fieldPath,
+                  false, null, ProblemHighlightType.GENERIC_ERROR_OR_WARNING));
+        }
+      }
+    });
+  }
+
+  private static List<PsiClass> findRoots(Project project, AnalysisScope scope) {
+    final PsiClass portableAnno
+        = JavaPsiFacade.getInstance(project).findClass(Types.PORTABLE, GlobalSearchScope.allScope(project));
+    if (portableAnno == null) {
+      return Collections.emptyList();
+    }
+
+    final List<PsiClass> roots = new ArrayList<PsiClass>();
+    for (PsiClass psiClass
+        : AnnotatedElementsSearch.searchPsiClasses(portableAnno, GlobalSearchScope.projectScope(project))) {
+      if (scope.contains(psiClass) && ErraiVersion.get(psiClass) == VersionSpec.V3_0) {
+        roots.add(psiClass);
+      }
+    }
+    return roots;
+  }
+
+  /**
+   * A field path, relative to some class, ending in a field of a non-portable type.
+   */
+  private static class NonPortablePath {
+    private final String fieldPath;
+    private final String leafType;
+
+    private NonPortablePath(String fieldPath, String leafType) {
+      this.fieldPath = fieldPath;
+      this.leafType = leafType;
+    }
+
+    private NonPortablePath prepend(String fieldName) {
+      return new NonPortablePath(fieldName + "." + fieldPath, leafType);
+    }
+
+    private String getFirstField() {
+      final int idx = fieldPath.indexOf('.');
+      return idx == -1 ? fieldPath : fieldPath.substring(0, idx);
+    }
+  }
+
+  private static class WalkResult {
+    private final List<NonPortablePath> paths;
+
+    /**
+     * False if a cycle was cut short below the class, in which case the paths may be incomplete for other roots and
+     * are not shared.
+     */
+    private final boolean complete;
+
+    private WalkResult(List<NonPortablePath> paths, boolean complete) {
+      this.paths = paths;
+      this.complete = complete;
+    }
+  }
+
+  /**
+   * The walk from a single root. Paths found below fully walked classes are shared between walks; the classes on the
+   * current path are tracked per walk to stop at cycles. Every class is expanded at most once per walk, including the
+   * classes on a cycle, whose paths are not shared since they depend on where the cycle was entered.
+   */
+  private static class GraphWalk {
+    private final PortableTypes portableTypes;
+    private final ConcurrentMap<String, List<NonPortablePath>> pathsByType;
+    private final Set<String> inProgress = new HashSet<String>();
+    private final Map<String, WalkResult> walked = new HashMap<String, WalkResult>();
+
+    private GraphWalk(PortableTypes portableTypes, ConcurrentMap<String, List<NonPortablePath>> pathsByType) {
+      this.portableTypes = portableTypes;
+      this.pathsByType = pathsByType;
+    }
+
+    private WalkResult walk(PsiClass psiClass) {
+      final String qualifiedName = psiClass.getQualifiedName();
+      if (qualifiedName == null) {
+        return new WalkResult(Collections.<NonPortablePath>emptyList(), true);
+      }
+
+      final List<NonPortablePath> known = pathsByType.get(qualifiedName);
+      if (known != null) {
+        return new WalkResult(known, true);
+      }
+
+      final WalkResult walkedResult = walked.get(qualifiedName);
+      if (walkedResult != null) {
+        return walkedResult;
+      }
+
+      if (!inProgress.add(qualifiedName)) {
+        return new WalkResult(Collections.<NonPortablePath>emptyList(), false);
+      }
+
+      final List<NonPortablePath> paths = new ArrayList<NonPortablePath>();
+      boolean complete = true;
+
+      for (PsiField field : psiClass.getAllFields()) {
+        final PsiModifierList modifierList = field.getModifierList();
+        if (modifierList == null || modifierList.hasModifierProperty(PsiModifier.STATIC)
+            || modifierList.hasModifierProperty(PsiModifier.TRANSIENT)) {
+          continue;
+        }
+
+        final String fieldType = field.getType().getCanonicalText();
+        if (!portableTypes.isPortableCompatible(fieldType)) {
+          paths.add(new NonPortablePath(field.getName(), fieldType));
+        }
+        else {
+          final List<PsiClassType> types = new ArrayList<PsiClassType>();
+          _collectClassTypes(types, field.getType());
+
+          for (PsiClassType type : types) {
+            final PsiClass target = type.resolve();
+            if (target == null || target instanceof PsiTypeParameter
+                || !portableTypes.getPortableTypes().contains(target.getQualifiedName())
+                || !target.getManager().isInProject(target)) {
+              continue;
+            }
+
+            final WalkResult result = walk(target);
+            complete &= result.complete;
+            for (NonPortablePath path : result.paths) {
+              paths.add(path.prepend(field.getName()));
+            }
+          }
+        }
+
+        if (paths.size() >= MAX_PATHS_PER_TYPE) {
+          break;
+        }
+      }
+
+      inProgress.remove(qualifiedName);
+
+      final List<NonPortablePath> result = Collections.unmodifiableList(paths);
+      if (complete) {
+        pathsByType.putIfAbsent(qualifiedName, result);
+      }
+
+      final WalkResult walkResult = new WalkResult(result, complete);
+      walked.put(qualifiedName, walkResult);
+      return walkResult;
+    }
+
+    private static void _collectClassTypes(List<PsiClassType> types, PsiType type) {
+      if (type instanceof PsiArrayType) {
+        _collectClassTypes(types, ((PsiArrayType) type).getComponentType());
+      }
+      else if (type instanceof PsiWildcardType) {
+        final PsiType bound = ((PsiWildcardType) type).getBound();
+        if (bound != null) {
+          _collectClassTypes(types, bound);
+        }
+      }
+      else if (type instanceof PsiClassType) {
+        types.add((PsiClassType) type);
+        for (PsiType parameter : ((PsiClassType) type).getParameters()) {
+          _collectClassTypes(types, parameter);
+        }
+      }
+    }
+  }
+
+  private static class Problem {
+    private final PsiClass root;
+    private final NonPortablePath path;
+
+    private Problem(PsiClass root, NonPortablePath path) {
+      this.root = root;
+      this.path = path;
+    }
+
+    /**
+     * Returns the first field of the path if the root declares it, or the name of the root otherwise.
+     */
+    private PsiElement getElement() {
+      final PsiField field = root.findFieldByName(path.getFirstField(), false);
+      if (field != null && field.getTypeElement() != null) {
+        return field.getTypeElement();
+      }
+      return root.getNameIdentifier() != null ? root.getNameIdentifier() : root;
+    }
+  }
+}
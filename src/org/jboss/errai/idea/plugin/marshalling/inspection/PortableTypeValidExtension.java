@@ -5,14 +5,12 @@ import com.intellij.codeInsight.daemon.GroupNames;
 import com.intellij.codeInspection.BaseJavaLocalInspectionTool;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.JavaElementVisitor;
-import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiField;
 import com.intellij.psi.PsiModifierList;
-import com.intellij.psi.search.GlobalSearchScope;
-import org.jboss.errai.idea.plugin.marshalling.MarshallingUtil;
+import org.jboss.errai.idea.plugin.marshalling.PortableTypes;
 import org.jboss.errai.idea.plugin.util.ErraiVersion;
 import org.jboss.errai.idea.plugin.util.Types;
 import org.jboss.errai.idea.plugin.util.Util;
@@ -20,8 +18,6 @@ import org.jboss.errai.idea.plugin.util.VersionSpec;
 import org.jetbrains.annotations.Nls;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Set;
-
 /**
  * @author Mike Brock
  */
@@ -82,31 +78,15 @@ public class PortableTypeValidExtension extends BaseJavaLocalInspectionTool {
 
       final PsiAnnotation portableAnno = Util.getAnnotationFromElement(aClass, Types.PORTABLE);
       if (portableAnno != null) {
-        final Set<String> allProprtableTypes = MarshallingUtil.getAllProprtableTypes(aClass.getProject());
+        final PortableTypes portableTypes = PortableTypes.getInstance(aClass.getProject());
 
-        FieldScan:
         for (PsiField psiField : aClass.getFields()) {
           final PsiModifierList modifierList = psiField.getModifierList();
           if (modifierList == null || modifierList.hasModifierProperty("transient")) {
             continue;
           }
 
-          final String canonicalText = psiField.getType().getCanonicalText();
-
-          if (!allProprtableTypes.contains(Util.boxedType(canonicalText))) {
-            for (String type : allProprtableTypes) {
-              if (Object.class.getName().equals(type)) {
-                continue;
-              }
-
-              PsiClass cls = JavaPsiFacade.getInstance(aClass.getProject()).findClass(type,
-                  GlobalSearchScope.allScope(aClass.getProject()));
-
-              if (Util.typeIsAssignableFrom(cls, canonicalText)) {
-                continue FieldScan;
-              }
-            }
-
+          if (!portableTypes.isPortableCompatible(psiField.getType().getCanonicalText())) {
             holder.registerProblem(psiField.getTypeElement(), "field of portable type is not portable");
           }
         }
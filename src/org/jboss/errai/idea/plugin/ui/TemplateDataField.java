@@ -16,26 +16,68 @@
 
 package org.jboss.errai.idea.plugin.ui;
 
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.xml.XmlAttribute;
+import com.intellij.psi.xml.XmlAttributeValue;
 import com.intellij.psi.xml.XmlTag;
+import org.jboss.errai.idea.plugin.ui.index.DataFieldIndexEntry;
 
 /**
+ * A data-field in a template. The backing {@link XmlTag} is only looked up when it is asked for, so templates that
+ * are merely checked for the existence of a data-field never have their PSI built.
+ *
  * @author Mike Brock
  */
 public class TemplateDataField {
-  private final XmlTag tag;
-  private final String dataFieldName;
+  private final Project project;
+  private final VirtualFile templateFile;
+  private final DataFieldIndexEntry entry;
 
-  public TemplateDataField(XmlTag tag, String dataFieldName) {
-    this.tag = tag;
-    this.dataFieldName = dataFieldName;
+  public TemplateDataField(Project project, VirtualFile templateFile, DataFieldIndexEntry entry) {
+    this.project = project;
+    this.templateFile = templateFile;
+    this.entry = entry;
   }
 
   public XmlTag getTag() {
-    return tag;
+    if (!templateFile.isValid()) {
+      return null;
+    }
+
+    final PsiFile file = PsiManager.getInstance(project).findFile(templateFile);
+    if (file == null) {
+      return null;
+    }
+
+    return PsiTreeUtil.getParentOfType(file.findElementAt(entry.getOffset()), XmlTag.class, false);
+  }
+
+  public VirtualFile getTemplateFile() {
+    return templateFile;
+  }
+
+  public DataFieldIndexEntry.Kind getKind() {
+    return entry.getKind();
+  }
+
+  public int getOffset() {
+    return entry.getOffset();
+  }
+
+  public int getEndOffset() {
+    return entry.getEndOffset();
+  }
+
+  public boolean isDescendantOf(TemplateDataField root) {
+    return entry.isDescendantOf(root.getOffset(), root.getEndOffset());
   }
 
   public void setDataField(String text) {
+    final XmlTag tag = getTag();
     if (tag != null) {
       final XmlAttribute value = tag.getAttribute("value");
       if (value != null) {
@@ -45,6 +87,7 @@ public class TemplateDataField {
   }
 
   public XmlAttribute getDataFieldAttribute() {
+    final XmlTag tag = getTag();
     if (tag != null) {
       if (tag.getAttribute("data-field") != null) {
         return tag.getAttribute("data-field");
@@ -55,15 +98,30 @@ public class TemplateDataField {
     return null;
   }
 
+  /**
+   * Returns the value element of the attribute this data-field was found by.
+   */
+  public XmlAttributeValue getAttributeValueElement() {
+    final XmlTag tag = getTag();
+    if (tag != null) {
+      final XmlAttribute attribute = tag.getAttribute(entry.getKind().getAttributeName());
+      if (attribute != null) {
+        return attribute.getValueElement();
+      }
+    }
+    return null;
+  }
+
   public String getDataFieldName() {
-    return dataFieldName;
+    return entry.getName();
   }
 
   @Override
   public String toString() {
     return "TemplateDataField{" +
-        "tag=" + tag +
-        ", dataFieldName='" + dataFieldName + '\'' +
+        "templateFile=" + templateFile +
+        ", offset=" + entry.getOffset() +
+        ", dataFieldName='" + entry.getName() + '\'' +
         '}';
   }
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.ui;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.AbstractProjectComponent;
+import com.intellij.openapi.fileTypes.StdFileTypes;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiTreeChangeAdapter;
+import com.intellij.psi.PsiTreeChangeEvent;
+import com.intellij.util.Alarm;
+import org.jboss.errai.idea.plugin.ui.model.TemplateMetaData;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Re-highlights the beans owning an Errai UI template when the template is edited, since the data-field checks in
+ * those beans depend on it. Edits are batched, the owners are found off the event dispatch thread, and only their Java
+ * files are restarted.
+ */
+public class TemplateOwnerHighlightingUpdater extends AbstractProjectComponent {
+  private static final int UPDATE_DELAY = 300;
+
+  private final Set<VirtualFile> changedTemplates = new LinkedHashSet<VirtualFile>();
+  private Alarm alarm;
+
+  public TemplateOwnerHighlightingUpdater(Project project) {
+    super(project);
+  }
+
+  @Override
+  public void projectOpened() {
+    alarm = new Alarm(Alarm.ThreadToUse.POOLED_THREAD, myProject);
+
+    PsiManager.getInstance(myProject).addPsiTreeChangeListener(new PsiTreeChangeAdapter() {
+      @Override
+      public void childAdded(@NotNull PsiTreeChangeEvent event) {
+        templateChanged(event.getFile());
+      }
+
+      @Override
+      public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+        templateChanged(event.getFile());
+      }
+
+      @Override
+      public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+        templateChanged(event.getFile());
+      }
+
+      @Override
+      public void childMoved(@NotNull PsiTreeChangeEvent event) {
+        templateChanged(event.getFile());
+      }
+
+      @Override
+      public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+        templateChanged(event.getFile());
+      }
+    }, myProject);
+  }
+
+  private void templateChanged(PsiFile file) {
+    if (file == null || !file.isPhysical() || file.getFileType() != StdFileTypes.HTML) {
+      return;
+    }
+
+    final VirtualFile virtualFile = file.getVirtualFile();
+    if (virtualFile == null) {
+      return;
+    }
+
+    synchronized (changedTemplates) {
+      changedTemplates.add(virtualFile);
+    }
+
+    scheduleUpdate();
+  }
+
+  private void scheduleUpdate() {
+    alarm.cancelAllRequests();
+    alarm.addRequest(new Runnable() {
+      @Override
+      public void run() {
+        restartOwners();
+      }
+    }, UPDATE_DELAY);
+  }
+
+  private void restartOwners() {
+    if (myProject.isDisposed()) {
+      return;
+    }
+
+    final VirtualFile[] templates;
+    synchronized (changedTemplates) {
+      templates = changedTemplates.toArray(new VirtualFile[changedTemplates.size()]);
+    }
+
+    final Set<PsiFile> ownerFiles = ApplicationManager.getApplication().runReadAction(new Computable<Set<PsiFile>>() {
+      @Override
+      public Set<PsiFile> compute() {
+        if (myProject.isDisposed() || DumbService.isDumb(myProject)) {
+          return null;
+        }
+
+        try {
+          return findOwnerFiles(templates);
+        }
+        catch (IndexNotReadyException e) {
+          return null;
+        }
+      }
+    });
+
+    if (ownerFiles == null) {
+      // the templates stay queued until the owners can be looked up.
+      if (!myProject.isDisposed()) {
+        DumbService.getInstance(myProject).runWhenSmart(new Runnable() {
+          @Override
+          public void run() {
+            scheduleUpdate();
+          }
+        });
+      }
+      return;
+    }
+
+    synchronized (changedTemplates) {
+      changedTemplates.removeAll(Arrays.asList(templates));
+    }
+
+    if (ownerFiles.isEmpty()) {
+      return;
+    }
+
+    ApplicationManager.getApplication().invokeLater(new Runnable() {
+      @Override
+      public void run() {
+        final DaemonCodeAnalyzer daemonCodeAnalyzer = DaemonCodeAnalyzer.getInstance(myProject);
+        for (PsiFile ownerFile : ownerFiles) {
+          if (ownerFile.isValid()) {
+            daemonCodeAnalyzer.restart(ownerFile);
+          }
+        }
+      }
+    }, myProject.getDisposed());
+  }
+
+  private Set<PsiFile> findOwnerFiles(VirtualFile[] templates) {
+    final Set<PsiFile> ownerFiles = new LinkedHashSet<PsiFile>();
+    if (myProject.isDisposed()) {
+      return ownerFiles;
+    }
+
+    final PsiManager psiManager = PsiManager.getInstance(myProject);
+    for (VirtualFile template : templates) {
+      if (!template.isValid()) {
+        continue;
+      }
+
+      final PsiFile templateFile = psiManager.findFile(template);
+      if (templateFile == null) {
+        continue;
+      }
+
+      for (TemplateMetaData owner : TemplateUtil.getTemplateOwners(templateFile)) {
+        final PsiFile ownerFile = owner.getTemplateClass().getContainingFile();
+        if (ownerFile != null) {
+          ownerFiles.add(ownerFile);
+        }
+      }
+    }
+    return ownerFiles;
+  }
+
+  @NotNull
+  @Override
+  public String getComponentName() {
+    return "ErraiUITemplateOwnerHighlightingUpdater";
+  }
+}
@@ -16,16 +16,13 @@
 
 package org.jboss.errai.idea.plugin.ui;
 
-import static com.intellij.psi.search.GlobalSearchScope.projectScope;
-
-import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.Multimap;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Key;
 import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiDirectory;
@@ -36,20 +33,24 @@ import com.intellij.psi.PsiManager;
 import com.intellij.psi.PsiModifierList;
 import com.intellij.psi.PsiNameValuePair;
 import com.intellij.psi.search.FilenameIndex;
-import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.psi.search.searches.ClassInheritorsSearch;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.util.PsiUtil;
-import com.intellij.psi.xml.XmlAttribute;
-import com.intellij.psi.xml.XmlAttributeValue;
-import com.intellij.psi.xml.XmlFile;
-import com.intellij.psi.xml.XmlTag;
+import com.intellij.util.PathUtil;
+import org.jboss.errai.idea.plugin.ui.index.DataFieldIndex;
+import org.jboss.errai.idea.plugin.ui.index.DataFieldIndexEntry;
+import org.jboss.errai.idea.plugin.ui.index.TemplateOwnerIndex;
 import org.jboss.errai.idea.plugin.ui.model.ConsolidateDataFieldElementResult;
+import org.jboss.errai.idea.plugin.ui.model.ConsolidatedDataFields;
 import org.jboss.errai.idea.plugin.ui.model.DataFieldCacheHolder;
 import org.jboss.errai.idea.plugin.ui.model.TemplateExpression;
 import org.jboss.errai.idea.plugin.ui.model.TemplateMetaData;
 import org.jboss.errai.idea.plugin.util.AnnotationSearchResult;
 import org.jboss.errai.idea.plugin.util.AnnotationValueElement;
 import org.jboss.errai.idea.plugin.util.CacheProvider;
+import org.jboss.errai.idea.plugin.util.DirectoryModificationTracker;
 import org.jboss.errai.idea.plugin.util.Types;
 import org.jboss.errai.idea.plugin.util.Util;
 import org.jetbrains.annotations.NotNull;
@@ -58,7 +59,8 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -72,17 +74,23 @@ public class TemplateUtil {
   public static final String ID_ATTRIBUTE = "id";
 
   private static final Key<DataFieldCacheHolder> dataFieldsCacheKey = Key.create("dataFieldsCache");
+  private static final Key<CachedValue<TemplateMetaData>> templateMetaDataKey = Key.create("templateMetaData");
+  private static final Key<CachedValue<ConsolidatedDataFields>> consolidatedDataFieldsKey
+      = Key.create("consolidatedDataFields");
+
+  private static final ConsolidatedDataFields EMPTY_DATA_FIELDS
+      = new ConsolidatedDataFields(Collections.<String, ConsolidateDataFieldElementResult>emptyMap(),
+      Collections.<String>emptySet());
 
   public static DataFieldExistence dataFieldExistenceCheck(PsiAnnotation annotation, TemplateMetaData metaData) {
-    final Multimap<String, TemplateDataField> inScopeDataFields = metaData.getAllDataFieldsInTemplate(false);
-    final Map<String, ConsolidateDataFieldElementResult> dataFields = metaData.getConsolidatedDataFields();
+    final ConsolidatedDataFields consolidatedDataFields
+        = getConsolidatedDataFieldModel(metaData.getTemplateClass(), metaData.getTemplateClass().getProject());
 
     final AnnotationValueElement annoValueEl = Util.getValueStringFromAnnotationWithDefault(annotation);
     final String annoValue = annoValueEl.getValue();
 
-    final Collection<TemplateDataField> result = inScopeDataFields.get(annoValue);
-    if (result.isEmpty()) {
-      if (dataFields.containsKey(annoValue)) {
+    if (!consolidatedDataFields.isInScopeOfTemplate(annoValue)) {
+      if (consolidatedDataFields.getDataFields().containsKey(annoValue)) {
         return DataFieldExistence.OUT_OF_SCOPE;
       }
       else {
@@ -150,159 +158,105 @@ public class TemplateUtil {
                                                                          Project project,
                                                                          boolean includeRoot) {
     if (!templateMetaData.getTemplateExpression().hasRootNode()) {
-      includeRoot = true;
+      return findAllDataFieldTags(templateMetaData.getTemplateFile(), null, project, true);
     }
 
-    VirtualFile vf = templateMetaData.getTemplateFile();
-    XmlTag rootTag = templateMetaData.getRootTag();
-    if (vf == null) {
+    final TemplateDataField rootDataField = templateMetaData.getRootDataField();
+    if (rootDataField == null) {
       return ImmutableMultimap.of();
     }
+    return findAllDataFieldTags(templateMetaData.getTemplateFile(), rootDataField, project, includeRoot);
+  }
 
-    final PsiManager instance = PsiManager.getInstance(project);
-    final PsiFile file = instance.findFile(vf);
+  /**
+   * Finds all "data-field" and "id" tags in the specified template file. The data-fields are read from the
+   * {@link DataFieldIndex}, so the PSI of the template is not loaded.
+   *
+   * @param templateFile
+   *     the template file to search.
+   * @param project
+   *     the IntelliJ <tt>Project</tt> reference.
+   *
+   * @return Map of all datafields in the template file.
+   */
+  @NotNull
+  public static Multimap<String, TemplateDataField> findAllDataFieldTags(VirtualFile templateFile, Project project) {
+    return findAllDataFieldTags(templateFile, null, project, true);
+  }
 
-    if (file == null) {
-      return ImmutableMultimap.of();
+  /**
+   * Finds the first "data-field" or "id" tag, in document order, with the specified name in the specified template
+   * file. This is how the root of a template fragment is resolved.
+   *
+   * @param templateFile
+   *     the template file to search.
+   * @param project
+   *     the IntelliJ <tt>Project</tt> reference.
+   * @param name
+   *     the data-field name or id to look for.
+   *
+   * @return the data-field, or <tt>null</tt> if the template has no such tag.
+   */
+  public static TemplateDataField findDataFieldTag(VirtualFile templateFile, Project project, String name) {
+    final DataFieldCacheHolder dataFields = getDataFieldCache(templateFile, project);
+    if (dataFields == null) {
+      return null;
     }
+    return dataFields.getFirst(name);
+  }
 
-    final XmlFile xmlFile = (XmlFile) file;
-    if (rootTag == null) {
-      rootTag = xmlFile.getRootTag();
+  @NotNull
+  private static Multimap<String, TemplateDataField> findAllDataFieldTags(final VirtualFile vf,
+                                                                          final TemplateDataField rootDataField,
+                                                                          final Project project,
+                                                                          final boolean includeRoot) {
+    final DataFieldCacheHolder dataFields = getDataFieldCache(vf, project);
+    if (dataFields == null) {
+      return ImmutableMultimap.of();
     }
 
-    return findAllDataFieldTags(file, rootTag, includeRoot);
+    if (includeRoot || rootDataField == null) {
+      return dataFields.getValue();
+    }
+    return dataFields.getValueScopedTo(rootDataField);
   }
 
-  private static Multimap<String, TemplateDataField> findAllDataFieldTags(VirtualFile vf,
-                                                                          XmlTag rootTag,
-                                                                          Project project,
-                                                                          boolean includeRoot) {
+  private static DataFieldCacheHolder getDataFieldCache(final VirtualFile vf, final Project project) {
     if (vf == null) {
-      return ImmutableMultimap.of();
+      return null;
     }
 
-    final PsiManager instance = PsiManager.getInstance(project);
-    final PsiFile file = instance.findFile(vf);
+    final PsiFile templateFile = PsiManager.getInstance(project).findFile(vf);
 
-    if (file == null) {
-      return ImmutableMultimap.of();
-
-    }
-
-    if (rootTag == null) {
-      rootTag = ((XmlFile) file).getRootTag();
-    }
-    else {
+    if (templateFile == null) {
+      return null;
     }
 
-    return findAllDataFieldTags(file, rootTag, includeRoot);
-  }
-
-  @NotNull
-  public static Multimap<String, TemplateDataField> findAllDataFieldTags(final PsiFile templateFile,
-                                                                         final XmlTag rootTag,
-                                                                         final boolean includeRoot) {
-    final Multimap<String, TemplateDataField> value
-        = Util.getOrCreateCache(dataFieldsCacheKey, templateFile, new CacheProvider<DataFieldCacheHolder>() {
+    return Util.getOrCreateCache(dataFieldsCacheKey, templateFile, new CacheProvider<DataFieldCacheHolder>() {
       @Override
       public DataFieldCacheHolder provide() {
-        final Multimap<String, TemplateDataField> allDataFieldTags = findAllDataFieldTags(rootTag, includeRoot);
-        return new DataFieldCacheHolder(templateFile.getModificationStamp(), allDataFieldTags);
+        final List<DataFieldIndexEntry> entries = DataFieldIndex.getAllEntries(project, vf);
+        final ImmutableMultimap.Builder<String, TemplateDataField> allDataFieldTags = ImmutableListMultimap.builder();
+        final Map<String, TemplateDataField> firstByName = new HashMap<String, TemplateDataField>(entries.size());
+        for (DataFieldIndexEntry entry : entries) {
+          final TemplateDataField dataField = new TemplateDataField(project, vf, entry);
+          allDataFieldTags.put(entry.getName(), dataField);
+          if (!firstByName.containsKey(entry.getName())) {
+            firstByName.put(entry.getName(), dataField);
+          }
+        }
+        return new DataFieldCacheHolder(templateFile.getModificationStamp(), allDataFieldTags.build(), firstByName);
       }
 
       @Override
       public boolean isCacheValid(DataFieldCacheHolder dataFieldCacheHolder) {
         return dataFieldCacheHolder.getTime() == templateFile.getModificationStamp();
       }
-    }).getValue();
-
-    final Multimap<String, TemplateDataField> templateDataFields = HashMultimap.create(value);
-    Iterator<TemplateDataField> iterator = templateDataFields.values().iterator();
-    final PsiElement rootElement = rootTag.getOriginalElement();
-
-    while (iterator.hasNext()) {
-      TemplateDataField field = iterator.next();
-      final PsiElement originalElement = field.getTag().getOriginalElement();
-
-      if (!includeRoot && !Util.isChild(originalElement, rootElement)) {
-        iterator.remove();
-      }
-
-    }
-    return templateDataFields;
-  }
-
-  private static Multimap<String, TemplateDataField> findAllDataFieldTags(XmlTag rootTag, boolean includeRoot) {
-    Multimap<String, TemplateDataField> references = HashMultimap.create();
-    if (rootTag == null) {
-      return references;
-    }
-
-    if (includeRoot
-        && rootTag.getAttribute(DATA_FIELD_TAG_ATTRIBUTE) != null || rootTag.getAttribute(ID_ATTRIBUTE) != null) {
-      final XmlAttribute attribute;
-      if (rootTag.getAttribute(DATA_FIELD_TAG_ATTRIBUTE) != null) {
-        attribute = rootTag.getAttribute(DATA_FIELD_TAG_ATTRIBUTE);
-      } else {
-        attribute = rootTag.getAttribute(ID_ATTRIBUTE);
-      }
-
-      if (attribute == null) {
-        return references;
-      }
-
-      final String value = attribute.getValue();
-      references.put(value, new TemplateDataField(rootTag, value));
-    }
-    _findDataFieldTags(references, rootTag);
-    return references;
-  }
-
-  private static void _findDataFieldTags(Multimap<String, TemplateDataField> foundTags, XmlTag root) {
-    PsiElement n = root;
-    do {
-      if (!(n instanceof XmlTag)) {
-        continue;
-      }
-      _scanSubTags(foundTags, (XmlTag) n);
-    }
-    while ((n = n.getNextSibling()) != null);
-  }
-
-  private static void _scanSubTags(Multimap<String, TemplateDataField> foundTags, XmlTag root) {
-    _scanTag(foundTags, root);
-    for (XmlTag xmlTag : root.getSubTags()) {
-      _scanSubTags(foundTags, xmlTag);
-    }
-  }
-
-  private static void _scanTag(Multimap<String, TemplateDataField> foundTags, XmlTag xmlTag) {
-    _scanTag(foundTags, xmlTag, DATA_FIELD_TAG_ATTRIBUTE);
-    _scanTag(foundTags, xmlTag, ID_ATTRIBUTE);
-  }
-
-  private static void _scanTag(Multimap<String, TemplateDataField> foundTags, XmlTag xmlTag, String dataFieldTagAttribute) {
-    XmlAttribute xmlAttribute = xmlTag.getAttribute(dataFieldTagAttribute);
-    if (xmlAttribute != null) {
-      foundTags.put(xmlAttribute.getValue(), new TemplateDataField(xmlTag, xmlAttribute.getValue()));
-    }
+    });
   }
 
   public static PsiAnnotation findTemplatedAnnotation(PsiElement element) {
-    final PsiClass topLevelClass;
-
-    if (element.getParent() == null) {
-      if (element instanceof PsiClass) {
-        topLevelClass = (PsiClass) element;
-      }
-      else {
-        return null;
-      }
-    }
-    else {
-      topLevelClass = PsiUtil.getTopLevelClass(element);
-    }
+    final PsiClass topLevelClass = getTopLevelClass(element);
 
     if (topLevelClass == null) {
       return null;
@@ -327,26 +281,48 @@ public class TemplateUtil {
     return null;
   }
 
-  public static TemplateMetaData getTemplateMetaData(PsiElement element) {
-    return getTemplateMetaData(findTemplatedAnnotation(element), element.getProject());
+  private static PsiClass getTopLevelClass(PsiElement element) {
+    if (element.getParent() == null) {
+      if (element instanceof PsiClass) {
+        return (PsiClass) element;
+      }
+      else {
+        return null;
+      }
+    }
+    else {
+      return PsiUtil.getTopLevelClass(element);
+    }
   }
 
-  private static TemplateMetaData getTemplateMetaData(PsiAnnotation annotation, Project project) {
-    if (annotation == null) return null;
-
-    final String qualifiedName = annotation.getQualifiedName();
-
-    if (qualifiedName == null) return null;
-
-    if (!qualifiedName.equals(Types.TEMPLATED)) {
-      annotation = findTemplatedAnnotation(annotation);
-      if (annotation == null) return null;
+  /**
+   * Returns the {@link TemplateMetaData} of the <tt>@Templated</tt> class the specified element belongs to, or
+   * <tt>null</tt> if it does not belong to one. The result is cached on the top-level class until the class, the
+   * template file or the directories the template is looked up in change.
+   */
+  public static TemplateMetaData getTemplateMetaData(PsiElement element) {
+    final PsiClass templateClass = getTopLevelClass(element);
+    if (templateClass == null) {
+      return null;
     }
 
-    final PsiClass templateClass = PsiUtil.getTopLevelClass(annotation);
+    final Project project = element.getProject();
+    return CachedValuesManager.getManager(project).getCachedValue(templateClass, templateMetaDataKey,
+        new CachedValueProvider<TemplateMetaData>() {
+          @Override
+          public Result<TemplateMetaData> compute() {
+            return resolveTemplateMetaData(templateClass, project);
+          }
+        }, false);
+  }
 
-    if (templateClass == null) {
-      return null;
+  private static CachedValueProvider.Result<TemplateMetaData> resolveTemplateMetaData(PsiClass templateClass,
+                                                                                      Project project) {
+    final PsiFile containingFile = templateClass.getContainingFile();
+
+    final PsiAnnotation annotation = findTemplatedAnnotation(templateClass);
+    if (annotation == null) {
+      return CachedValueProvider.Result.create(null, containingFile);
     }
 
     final PsiNameValuePair[] attributes = annotation.getParameterList().getAttributes();
@@ -357,23 +333,22 @@ public class TemplateUtil {
     }
     else {
       if (!(attributes[0].getValue() instanceof PsiLiteralExpression)) {
-        return null;
+        return CachedValueProvider.Result.create(null, containingFile);
       }
 
       final PsiLiteralExpression literalExpression = (PsiLiteralExpression) attributes[0].getValue();
       if (literalExpression == null) {
-        return null;
+        return CachedValueProvider.Result.create(null, containingFile);
       }
 
       String text = literalExpression.getText().replace(Util.INTELLIJ_MAGIC_STRING, "");
       templateName = text.substring(1, text.length() - 1);
     }
 
-    final PsiFile containingFile = templateClass.getContainingFile().getOriginalFile();
-    PsiDirectory containerDir = containingFile.getParent();
+    PsiDirectory containerDir = containingFile.getOriginalFile().getParent();
 
     if (containerDir == null) {
-      return null;
+      return CachedValueProvider.Result.create(null, containingFile);
     }
 
     final TemplateExpression reference = TemplateUtil.parseReference(templateName);
@@ -386,7 +361,13 @@ public class TemplateUtil {
       fileName = reference.getFileName();
     }
 
+    final DirectoryModificationTracker directoryTracker = DirectoryModificationTracker.getInstance(project);
+    final List<Object> dependencies = new ArrayList<Object>();
+    dependencies.add(containingFile);
+
     final VirtualFile virtualFile = containerDir.getVirtualFile();
+    dependencies.add(directoryTracker.getTracker(PathUtil.getParentPath(virtualFile.getPath() + "/" + fileName)));
+
     VirtualFile fileByRelativePath = virtualFile.findFileByRelativePath(fileName);
     if (fileByRelativePath != null && fileByRelativePath.isDirectory()) {
       fileByRelativePath = null;
@@ -395,13 +376,12 @@ public class TemplateUtil {
     // if we didn't find the file in the current container,
     // and this is a maven project, it might located in the resources folder
     if (fileByRelativePath == null) {
-      // see if this is a maven project  check for a pom.xml in the root folder
-      VirtualFile vProjectDir = project.getBaseDir();
-      VirtualFile vPom = vProjectDir.findChild("pom.xml");
-      if (vPom != null) {
-        // look in the src/main/resources folder for the corresponding html file
-        String containerPath = virtualFile.getPath();
-        String resourcePath = containerPath.replaceAll("src/main/java", "src/main/resources");
+      dependencies.add(directoryTracker.getTracker(project.getBaseDir().getPath()));
+
+      final String resourcePath = getResourceMirrorPath(project, virtualFile);
+      if (resourcePath != null) {
+        dependencies.add(directoryTracker.getTracker(PathUtil.getParentPath(resourcePath + "/" + fileName)));
+
         File resourceFile = new File(resourcePath, fileName);
         VirtualFile vf = LocalFileSystem.getInstance().findFileByIoFile(resourceFile);
         if (vf != null) {
@@ -410,44 +390,31 @@ public class TemplateUtil {
       }
     }
 
-
-    final XmlTag rootTag;
-    if (fileByRelativePath == null) {
-      rootTag = null;
-    }
-    else if (reference.getRootNode().equals("")) {
-      final PsiFile file = PsiManager.getInstance(project).findFile(fileByRelativePath);
-      if (file != null) {
-        rootTag = ((XmlFile) file).getRootTag();
-      }
-      else {
-        rootTag = null;
-      }
-    }
-    else {
-      Multimap<String, TemplateDataField> allDataFieldTags
-          = findAllDataFieldTags(fileByRelativePath, null, project, true);
-
-      final Collection<TemplateDataField> dataFieldReference = allDataFieldTags.get(reference.getRootNode());
-      // if both data-field and id are the same, dataFieldReference will have
-      // two reference to the same element. So, the root tag is valid if we have
-      // any values in the iterator
-      Iterator<TemplateDataField> dataFieldIterator = dataFieldReference.iterator();
-      if (dataFieldIterator.hasNext()) {
-        rootTag = dataFieldIterator.next().getTag();
-      }
-      else {
-        rootTag = null;
-      }
+    if (fileByRelativePath != null) {
+      dependencies.add(fileByRelativePath);
     }
 
-    return new TemplateMetaData(reference,
+    return CachedValueProvider.Result.create(new TemplateMetaData(reference,
         attributes.length == 0,
         attributes.length == 0 ? null : attributes[0],
         templateClass,
         fileByRelativePath,
-        rootTag,
-        project);
+        project), dependencies.toArray());
+  }
+
+  /**
+   * Returns the path of the directory mirroring the specified source directory under <tt>src/main/resources</tt>,
+   * where Maven projects keep their templates, or <tt>null</tt> if the project is not a Maven project.
+   */
+  public static String getResourceMirrorPath(Project project, VirtualFile sourceDirectory) {
+    // see if this is a maven project  check for a pom.xml in the root folder
+    VirtualFile vProjectDir = project.getBaseDir();
+    VirtualFile vPom = vProjectDir.findChild("pom.xml");
+    if (vPom == null) {
+      return null;
+    }
+
+    return sourceDirectory.getPath().replaceAll("src/main/java", "src/main/resources");
   }
 
   public static Collection<String> extractDataFieldList(Collection<AnnotationSearchResult> dataFieldElements) {
@@ -459,14 +426,34 @@ public class TemplateUtil {
   }
 
   public static Map<String, ConsolidateDataFieldElementResult> getConsolidatedDataFields(PsiElement element, Project project) {
-    final TemplateMetaData metaData = TemplateUtil.getTemplateMetaData(element);
-    if (metaData == null) {
-      return Collections.emptyMap();
-    }
+    return getConsolidatedDataFieldModel(element, project).getDataFields();
+  }
 
+  /**
+   * Returns the data-fields of the <tt>@Templated</tt> bean the specified element belongs to. The model is cached on
+   * the top-level class until any PSI in the project changes, so the many data-field and event handler checks of a
+   * bean share a single consolidation.
+   */
+  public static ConsolidatedDataFields getConsolidatedDataFieldModel(PsiElement element, final Project project) {
     final PsiClass topLevelClass = PsiUtil.getTopLevelClass(element);
     if (topLevelClass == null) {
-      return Collections.emptyMap();
+      return EMPTY_DATA_FIELDS;
+    }
+
+    return CachedValuesManager.getManager(project).getCachedValue(topLevelClass, consolidatedDataFieldsKey,
+        new CachedValueProvider<ConsolidatedDataFields>() {
+          @Override
+          public Result<ConsolidatedDataFields> compute() {
+            return Result.create(consolidateDataFields(topLevelClass, project),
+                PsiModificationTracker.MODIFICATION_COUNT);
+          }
+        }, false);
+  }
+
+  private static ConsolidatedDataFields consolidateDataFields(PsiClass topLevelClass, Project project) {
+    final TemplateMetaData metaData = TemplateUtil.getTemplateMetaData(topLevelClass);
+    if (metaData == null) {
+      return EMPTY_DATA_FIELDS;
     }
 
     final String beanClass = topLevelClass.getQualifiedName();
@@ -474,7 +461,7 @@ public class TemplateUtil {
     final Map<String, ConsolidateDataFieldElementResult> results = new LinkedHashMap<String, ConsolidateDataFieldElementResult>();
 
     final Collection<AnnotationSearchResult> allInjectionPoints
-        = Util.findAllAnnotatedElements(element, Types.DATAFIELD);
+        = Util.findAllAnnotatedElements(topLevelClass, Types.DATAFIELD);
 
     for (AnnotationSearchResult r : allInjectionPoints) {
       final String value = Util.getValueStringFromAnnotationWithDefault(r.getAnnotation()).getValue();
@@ -483,36 +470,35 @@ public class TemplateUtil {
 
     final Multimap<String, TemplateDataField> allDataFieldTags = TemplateUtil.findAllDataFieldTags(metaData, project, false);
     for (TemplateDataField ref : allDataFieldTags.values()) {
-      final XmlAttribute attribute = ref.getTag().getAttribute("data-field");
-      if (attribute == null) {
+      if (ref.getKind() != DataFieldIndexEntry.Kind.DATA_FIELD) {
         continue;
       }
 
-      final XmlAttributeValue valueElement = attribute.getValueElement();
       if (results.containsKey(ref.getDataFieldName())) {
-        results.get(ref.getDataFieldName()).setLinkingElement(valueElement);
+        results.get(ref.getDataFieldName()).setLinkingDataField(ref);
         continue;
       }
 
       results.put(ref.getDataFieldName(), new ConsolidateDataFieldElementResult(ref.getDataFieldName(),
-          metaData.getTemplateExpression().getFileName(), valueElement, false));
+          metaData.getTemplateExpression().getFileName(), ref));
     }
 
-    return results;
+    return new ConsolidatedDataFields(results, new HashSet<String>(allDataFieldTags.keySet()));
   }
 
   public static Collection<TemplateMetaData> getTemplateOwners(final PsiFile file) {
-    final List<TemplateMetaData> templateOwners = new ArrayList<TemplateMetaData>();
-    final PsiClass psiClass = JavaPsiFacade.getInstance(
-        file.getProject()).findClass(Types.GWT_COMPOSITE,
-        GlobalSearchScope.allScope(file.getProject())
-    );
+    final VirtualFile virtualFile = file.getOriginalFile().getVirtualFile();
+    if (virtualFile == null) {
+      return Collections.emptyList();
+    }
 
-    if (psiClass == null) {
+    final String templatePath = virtualFile.getCanonicalPath();
+    if (templatePath == null) {
       return Collections.emptyList();
     }
 
-    for (PsiClass c : ClassInheritorsSearch.search(psiClass, projectScope(file.getProject()), true)) {
+    final List<TemplateMetaData> templateOwners = new ArrayList<TemplateMetaData>();
+    for (PsiClass c : TemplateOwnerIndex.getCandidateOwners(file.getProject(), virtualFile)) {
       final TemplateMetaData templateMetaData = TemplateUtil.getTemplateMetaData(c);
       if (templateMetaData == null) {
         continue;
@@ -521,12 +507,7 @@ public class TemplateUtil {
       if (vTemplateFile == null) {
         continue;
       }
-      final String templateFile = vTemplateFile.getCanonicalPath();
-      final VirtualFile virtualFile = file.getOriginalFile().getVirtualFile();
-      if (virtualFile == null || templateFile == null) {
-        continue;
-      }
-      if (templateFile.equals(virtualFile.getCanonicalPath())) {
+      if (templatePath.equals(vTemplateFile.getCanonicalPath())) {
         templateOwners.add(templateMetaData);
       }
     }
@@ -57,6 +57,8 @@ public class DataFieldReference extends PsiReferenceBase<PsiLiteralExpression> {
         if (!considerRoot && rootNode.equals(entry.getKey())) continue;
 
         final XmlTag tag = entry.getValue().getTag();
+        if (tag == null) continue;
+
         final XmlAttribute attribute;
         if (tag.getAttribute(TemplateUtil.DATA_FIELD_TAG_ATTRIBUTE) != null) {
           attribute = tag.getAttribute(TemplateUtil.DATA_FIELD_TAG_ATTRIBUTE);
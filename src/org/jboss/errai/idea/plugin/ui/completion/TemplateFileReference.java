@@ -18,19 +18,29 @@ package org.jboss.errai.idea.plugin.ui.completion;
 
 import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.icons.AllIcons;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiClass;
-import com.intellij.psi.PsiDirectory;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiManager;
 import com.intellij.psi.PsiReferenceBase;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiUtil;
 import com.intellij.util.IncorrectOperationException;
+import org.jboss.errai.idea.plugin.ui.TemplateUtil;
+import org.jboss.errai.idea.plugin.util.DirectoryModificationTracker;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +49,8 @@ import java.util.Map;
  * @author Mike Brock
  */
 public class TemplateFileReference extends PsiReferenceBase<PsiLiteralExpression> {
+  private static final Key<CachedValue<Map<String, VirtualFile>>> templateFilesKey = Key.create("templateFiles");
+
   private final TextRange range;
 
   public TemplateFileReference(PsiLiteralExpression literalExpression, TextRange range) {
@@ -46,40 +58,76 @@ public class TemplateFileReference extends PsiReferenceBase<PsiLiteralExpression
     this.range = range;
   }
 
-  private PsiDirectory getBaseDir() {
+  private VirtualFile getBaseDir() {
     final PsiClass psiClass = PsiUtil.getTopLevelClass(getElement());
 
     if (psiClass != null) {
       final PsiFile containingFile = psiClass.getContainingFile();
 
       if (containingFile != null) {
-        return containingFile.getOriginalFile().getParent();
+        final VirtualFile virtualFile = containingFile.getOriginalFile().getVirtualFile();
+        if (virtualFile != null) {
+          return virtualFile.getParent();
+        }
       }
     }
     return null;
   }
 
-  private Map<String, PsiFile> getAllPossibleTemplateFiles() {
-    final Map<String, PsiFile> templateList = new LinkedHashMap<String, PsiFile>();
+  /**
+   * Returns the templates next to the bean and, in a Maven project, in the mirroring resources directory, by file
+   * name. Only the VFS is consulted, and the result is cached on the directory until either directory changes.
+   */
+  private Map<String, VirtualFile> getAllPossibleTemplateFiles() {
+    final VirtualFile baseDir = getBaseDir();
+    if (baseDir == null) {
+      return Collections.emptyMap();
+    }
 
-    for (final PsiElement element : getBaseDir().getChildren()) {
-      final PsiFile containingFile = element.getContainingFile();
-      if (containingFile == null) {
-        continue;
-      }
+    final Project project = getElement().getProject();
+    return CachedValuesManager.getManager(project).getCachedValue(baseDir, templateFilesKey,
+        new CachedValueProvider<Map<String, VirtualFile>>() {
+          @Override
+          public Result<Map<String, VirtualFile>> compute() {
+            final DirectoryModificationTracker directoryTracker = DirectoryModificationTracker.getInstance(project);
+            final List<Object> dependencies = new ArrayList<Object>();
+            dependencies.add(directoryTracker.getTracker(baseDir.getPath()));
+            dependencies.add(directoryTracker.getTracker(project.getBaseDir().getPath()));
+
+            final Map<String, VirtualFile> templateList = new LinkedHashMap<String, VirtualFile>();
+            addTemplateFiles(templateList, baseDir);
+
+            final String resourcePath = TemplateUtil.getResourceMirrorPath(project, baseDir);
+            if (resourcePath != null) {
+              dependencies.add(directoryTracker.getTracker(resourcePath));
+              addTemplateFiles(templateList, LocalFileSystem.getInstance().findFileByPath(resourcePath));
+            }
+
+            return Result.create(templateList, dependencies.toArray());
+          }
+        }, false);
+  }
 
-      if (containingFile.getName().endsWith(".html")) {
-        templateList.put(containingFile.getName(), containingFile.getOriginalFile());
-      }
+  private static void addTemplateFiles(Map<String, VirtualFile> templateList, VirtualFile directory) {
+    if (directory == null || !directory.isDirectory()) {
+      return;
     }
 
-    return templateList;
+    for (VirtualFile child : directory.getChildren()) {
+      if (!child.isDirectory() && child.getName().endsWith(".html") && !templateList.containsKey(child.getName())) {
+        templateList.put(child.getName(), child);
+      }
+    }
   }
 
   @Nullable
   @Override
   public PsiElement resolve() {
-    return getAllPossibleTemplateFiles().get(getValue());
+    final VirtualFile templateFile = getAllPossibleTemplateFiles().get(getValue());
+    if (templateFile == null || !templateFile.isValid()) {
+      return null;
+    }
+    return PsiManager.getInstance(getElement().getProject()).findFile(templateFile);
   }
 
   @Override
@@ -95,12 +143,12 @@ public class TemplateFileReference extends PsiReferenceBase<PsiLiteralExpression
   @NotNull
   @Override
   public Object[] getVariants() {
-    final Map<String, PsiFile> allPossibleTemplateFiles = getAllPossibleTemplateFiles();
+    final Map<String, VirtualFile> allPossibleTemplateFiles = getAllPossibleTemplateFiles();
 
     List<Object> list = new ArrayList<Object>();
 
-    for (Map.Entry<String, PsiFile> entry : allPossibleTemplateFiles.entrySet()) {
-      list.add(LookupElementBuilder.create(entry.getKey()).withIcon(AllIcons.FileTypes.Html));
+    for (String fileName : allPossibleTemplateFiles.keySet()) {
+      list.add(LookupElementBuilder.create(fileName).withIcon(AllIcons.FileTypes.Html));
     }
 
     return list.toArray();
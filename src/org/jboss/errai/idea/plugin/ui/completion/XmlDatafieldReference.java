@@ -17,19 +17,34 @@
 package org.jboss.errai.idea.plugin.ui.completion;
 
 import com.google.common.collect.Multimap;
-import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
 import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementResolveResult;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifierListOwner;
 import com.intellij.psi.PsiReferenceBase;
 import com.intellij.psi.ResolveResult;
 import com.intellij.psi.impl.source.xml.XmlAttributeImpl;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.xml.XmlAttribute;
 import com.intellij.psi.xml.XmlFile;
 import com.intellij.util.IncorrectOperationException;
 import org.jboss.errai.idea.plugin.ui.TemplateDataField;
 import org.jboss.errai.idea.plugin.ui.TemplateUtil;
+import org.jboss.errai.idea.plugin.ui.index.DataFieldMemberIndex;
 import org.jboss.errai.idea.plugin.ui.model.TemplateMetaData;
 import org.jboss.errai.idea.plugin.util.AnnotationSearchResult;
 import org.jboss.errai.idea.plugin.util.AnnotationValueElement;
@@ -41,12 +56,19 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * @author Mike Brock
  */
 public class XmlDatafieldReference extends PsiReferenceBase<PsiElement> {
+  private static final Key<CachedValue<Map<String, PsiElement>>> LIBRARY_DATA_FIELDS_KEY
+      = Key.create("LIBRARY_DATA_FIELDS_KEY");
+
   public XmlDatafieldReference(XmlAttribute element, boolean soft) {
     super(element, soft);
   }
@@ -71,12 +93,11 @@ public class XmlDatafieldReference extends PsiReferenceBase<PsiElement> {
 
   private List<DataFieldRef> findLinkedTemplateAndDataFields() {
     final Project project = getElement().getProject();
-    DaemonCodeAnalyzer.getInstance(project).restart();
 
     final XmlFile xmlFile = getXmlFile();
     final List<DataFieldRef> dataFieldRefs = new ArrayList<DataFieldRef>();
     final Multimap<String, TemplateDataField> allDataFieldTags
-        = TemplateUtil.findAllDataFieldTags(xmlFile, xmlFile.getRootTag(), true);
+        = TemplateUtil.findAllDataFieldTags(xmlFile.getOriginalFile().getVirtualFile(), project);
 
     for (TemplateMetaData metaData : TemplateUtil.getTemplateOwners(xmlFile)) {
       final Collection<AnnotationSearchResult> allAnnotatedElements
@@ -111,22 +132,114 @@ public class XmlDatafieldReference extends PsiReferenceBase<PsiElement> {
   @Override
   public PsiElement resolve() {
     final XmlFile xmlFile = getXmlFile();
+    final String value = ((XmlAttribute) getElement()).getValue();
+    if (value == null) {
+      return null;
+    }
+
     final Collection<TemplateMetaData> templateOwners = TemplateUtil.getTemplateOwners(xmlFile);
-    for (TemplateMetaData metaData : templateOwners) {
-      final Collection<AnnotationSearchResult> allAnnotatedElements =
-          Util.findAllAnnotatedElements(metaData.getTemplateClass(), Types.DATAFIELD);
-      for (AnnotationSearchResult element : allAnnotatedElements) {
-        final AnnotationValueElement annotationValueElement =
-            Util.getValueStringFromAnnotationWithDefault(element.getAnnotation());
-        if (annotationValueElement.getValue().equals(((XmlAttribute) getElement()).getValue())) {
-          return annotationValueElement.getLogicalElement();
+    if (templateOwners.isEmpty()) {
+      return null;
+    }
+
+    final Project project = getElement().getProject();
+    final GlobalSearchScope ownerScope = getOwnerScope(project, templateOwners);
+    for (PsiAnnotation annotation : DataFieldMemberIndex.getDataFieldAnnotations(project, value, ownerScope)) {
+      if (!Types.DATAFIELD.equals(annotation.getQualifiedName())) {
+        continue;
+      }
+
+      final PsiClass declaringClass = PsiTreeUtil.getParentOfType(annotation, PsiClass.class);
+      if (declaringClass == null) {
+        continue;
+      }
+
+      for (TemplateMetaData metaData : templateOwners) {
+        final PsiClass templateClass = metaData.getTemplateClass();
+        if (templateClass.equals(declaringClass) || templateClass.isInheritor(declaringClass, true)) {
+          return Util.getValueStringFromAnnotationWithDefault(annotation).getLogicalElement();
         }
       }
     }
 
+    // the index only covers project sources, so data-fields inherited from library classes are looked up separately.
+    for (TemplateMetaData metaData : templateOwners) {
+      final PsiElement libraryDataField = getLibraryDataFields(metaData.getTemplateClass()).get(value);
+      if (libraryDataField != null) {
+        return libraryDataField;
+      }
+    }
+
     return null;
   }
 
+  /**
+   * Returns the scope of the files declaring the specified template owners and their superclasses in the project.
+   */
+  private static GlobalSearchScope getOwnerScope(Project project, Collection<TemplateMetaData> templateOwners) {
+    final Set<VirtualFile> files = new HashSet<VirtualFile>();
+    for (TemplateMetaData metaData : templateOwners) {
+      for (PsiClass psiClass = metaData.getTemplateClass();
+           psiClass != null && psiClass.getManager().isInProject(psiClass); psiClass = psiClass.getSuperClass()) {
+        final PsiFile file = psiClass.getContainingFile();
+        if (file != null && file.getVirtualFile() != null) {
+          files.add(file.getVirtualFile());
+        }
+      }
+    }
+    return GlobalSearchScope.filesScope(project, files);
+  }
+
+  /**
+   * Returns the <tt>@DataField</tt> members the specified class inherits from library classes, by data-field name. The
+   * result is cached on the class until the structure of any class or the project roots change.
+   */
+  private static Map<String, PsiElement> getLibraryDataFields(final PsiClass templateClass) {
+    final Project project = templateClass.getProject();
+    return CachedValuesManager.getManager(project).getCachedValue(templateClass, LIBRARY_DATA_FIELDS_KEY,
+        new CachedValueProvider<Map<String, PsiElement>>() {
+          @Override
+          public Result<Map<String, PsiElement>> compute() {
+            return Result.create(findLibraryDataFields(templateClass),
+                PsiModificationTracker.JAVA_STRUCTURE_MODIFICATION_COUNT, ProjectRootManager.getInstance(project));
+          }
+        }, false);
+  }
+
+  private static Map<String, PsiElement> findLibraryDataFields(PsiClass templateClass) {
+    final PsiManager psiManager = templateClass.getManager();
+    final Map<String, PsiElement> dataFields = new HashMap<String, PsiElement>();
+
+    for (PsiClass superClass = templateClass.getSuperClass(); superClass != null;
+         superClass = superClass.getSuperClass()) {
+      if (psiManager.isInProject(superClass)) {
+        continue;
+      }
+
+      _addDataFields(dataFields, superClass.getFields());
+      for (PsiMethod method : superClass.getMethods()) {
+        _addDataFields(dataFields, new PsiModifierListOwner[]{method});
+        _addDataFields(dataFields, method.getParameterList().getParameters());
+      }
+    }
+
+    return dataFields.isEmpty() ? Collections.<String, PsiElement>emptyMap() : dataFields;
+  }
+
+  private static void _addDataFields(Map<String, PsiElement> dataFields, PsiModifierListOwner[] members) {
+    for (PsiModifierListOwner member : members) {
+      final PsiAnnotation annotation = Util.getAnnotationFromElement(member, Types.DATAFIELD);
+      if (annotation == null) {
+        continue;
+      }
+
+      final AnnotationValueElement value = Util.getValueStringFromAnnotationWithDefault(annotation);
+      if (value != null && value.getValue() != null && !dataFields.containsKey(value.getValue())) {
+        dataFields.put(value.getValue(), value.getLogicalElement());
+      }
+    }
+  }
+
   @NotNull
   @Override
   public Object[] getVariants() {
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.ui.index;
+
+import com.intellij.openapi.fileTypes.StdFileTypes;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.xml.XmlAttribute;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes every <tt>data-field</tt> and <tt>id</tt> attribute in HTML files by attribute value, so the data-fields
+ * of an Errai UI template can be looked up without building the PSI of the template.
+ */
+public class DataFieldIndex extends FileBasedIndexExtension<String, List<DataFieldIndexEntry>> {
+  public static final ID<String, List<DataFieldIndexEntry>> NAME = ID.create("errai.ui.DataFieldIndex");
+
+  /**
+   * Every entry of a template is also recorded under this key, so all the data-fields of a single template can be
+   * read back with one lookup. XML attribute values cannot contain a NUL character, so it can't clash with a name.
+   */
+  private static final String ALL_FIELDS_KEY = "\u0000";
+
+  private static final int VERSION = 2;
+
+  @NotNull
+  @Override
+  public ID<String, List<DataFieldIndexEntry>> getName() {
+    return NAME;
+  }
+
+  @NotNull
+  @Override
+  public DataIndexer<String, List<DataFieldIndexEntry>, FileContent> getIndexer() {
+    return new DataIndexer<String, List<DataFieldIndexEntry>, FileContent>() {
+      @NotNull
+      @Override
+      public Map<String, List<DataFieldIndexEntry>> map(FileContent inputData) {
+        final PsiFile psiFile = inputData.getPsiFile();
+        if (!(psiFile instanceof XmlFile)) {
+          return Collections.emptyMap();
+        }
+
+        final XmlTag rootTag = ((XmlFile) psiFile).getRootTag();
+        if (rootTag == null) {
+          return Collections.emptyMap();
+        }
+
+        final Map<String, List<DataFieldIndexEntry>> result = new HashMap<String, List<DataFieldIndexEntry>>();
+        final List<DataFieldIndexEntry> allEntries = new ArrayList<DataFieldIndexEntry>();
+
+        PsiElement n = rootTag;
+        do {
+          if (n instanceof XmlTag) {
+            _indexSubTags(allEntries, (XmlTag) n);
+          }
+        }
+        while ((n = n.getNextSibling()) != null);
+
+        if (allEntries.isEmpty()) {
+          return Collections.emptyMap();
+        }
+
+        for (DataFieldIndexEntry entry : allEntries) {
+          List<DataFieldIndexEntry> entries = result.get(entry.getName());
+          if (entries == null) {
+            result.put(entry.getName(), entries = new ArrayList<DataFieldIndexEntry>(1));
+          }
+          entries.add(entry);
+        }
+        result.put(ALL_FIELDS_KEY, allEntries);
+
+        return result;
+      }
+    };
+  }
+
+  private static void _indexSubTags(List<DataFieldIndexEntry> entries, XmlTag tag) {
+    final TextRange textRange = tag.getTextRange();
+    _indexTag(entries, tag, DataFieldIndexEntry.Kind.DATA_FIELD, textRange);
+    _indexTag(entries, tag, DataFieldIndexEntry.Kind.ID, textRange);
+
+    for (XmlTag subTag : tag.getSubTags()) {
+      _indexSubTags(entries, subTag);
+    }
+  }
+
+  private static void _indexTag(List<DataFieldIndexEntry> entries,
+                                XmlTag tag,
+                                DataFieldIndexEntry.Kind kind,
+                                TextRange textRange) {
+    final XmlAttribute attribute = tag.getAttribute(kind.getAttributeName());
+    if (attribute == null) {
+      return;
+    }
+
+    final String value = attribute.getValue();
+    if (value != null) {
+      entries.add(new DataFieldIndexEntry(value, kind, textRange.getStartOffset(), textRange.getEndOffset()));
+    }
+  }
+
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return new EnumeratorStringDescriptor();
+  }
+
+  @Override
+  public DataExternalizer<List<DataFieldIndexEntry>> getValueExternalizer() {
+    return new DataExternalizer<List<DataFieldIndexEntry>>() {
+      @Override
+      public void save(DataOutput out, List<DataFieldIndexEntry> value) throws IOException {
+        DataInputOutputUtil.writeINT(out, value.size());
+        for (DataFieldIndexEntry entry : value) {
+          out.writeUTF(entry.getName());
+          out.writeByte(entry.getKind().ordinal());
+          DataInputOutputUtil.writeINT(out, entry.getOffset());
+          DataInputOutputUtil.writeINT(out, entry.getEndOffset());
+        }
+      }
+
+      @Override
+      public List<DataFieldIndexEntry> read(DataInput in) throws IOException {
+        final int size = DataInputOutputUtil.readINT(in);
+        final List<DataFieldIndexEntry> entries = new ArrayList<DataFieldIndexEntry>(size);
+        for (int i = 0; i < size; i++) {
+          final String name = in.readUTF();
+          final DataFieldIndexEntry.Kind kind = DataFieldIndexEntry.Kind.values()[in.readByte()];
+          final int offset = DataInputOutputUtil.readINT(in);
+          final int endOffset = DataInputOutputUtil.readINT(in);
+
+          entries.add(new DataFieldIndexEntry(name, kind, offset, endOffset));
+        }
+        return entries;
+      }
+    };
+  }
+
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return new FileBasedIndex.InputFilter() {
+      @Override
+      public boolean acceptInput(VirtualFile file) {
+        return file.getFileType() == StdFileTypes.HTML;
+      }
+    };
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+  @Override
+  public int getVersion() {
+    return VERSION;
+  }
+
+  /**
+   * Returns all the <tt>data-field</tt> and <tt>id</tt> attributes of the specified template, in document order.
+   */
+  @NotNull
+  public static List<DataFieldIndexEntry> getAllEntries(Project project, VirtualFile templateFile) {
+    return getEntries(project, templateFile, ALL_FIELDS_KEY);
+  }
+
+  /**
+   * Returns the <tt>data-field</tt> and <tt>id</tt> attributes with the specified value in the specified template.
+   */
+  @NotNull
+  public static List<DataFieldIndexEntry> getEntries(Project project, VirtualFile templateFile, String name) {
+    final List<List<DataFieldIndexEntry>> values = FileBasedIndex.getInstance()
+        .getValues(NAME, name, GlobalSearchScope.fileScope(project, templateFile));
+
+    if (values.isEmpty()) {
+      return Collections.emptyList();
+    }
+    else if (values.size() == 1) {
+      return values.get(0);
+    }
+
+    final List<DataFieldIndexEntry> entries = new ArrayList<DataFieldIndexEntry>();
+    for (List<DataFieldIndexEntry> value : values) {
+      entries.addAll(value);
+    }
+    return entries;
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.ui.index;
+
+import org.jboss.errai.idea.plugin.ui.TemplateUtil;
+
+/**
+ * A single <tt>data-field</tt> or <tt>id</tt> attribute recorded by the {@link DataFieldIndex}, along with the text
+ * range of the owning tag in the template.
+ */
+public class DataFieldIndexEntry {
+  public static enum Kind {
+    DATA_FIELD(TemplateUtil.DATA_FIELD_TAG_ATTRIBUTE), ID(TemplateUtil.ID_ATTRIBUTE);
+
+    private final String attributeName;
+
+    Kind(String attributeName) {
+      this.attributeName = attributeName;
+    }
+
+    public String getAttributeName() {
+      return attributeName;
+    }
+  }
+
+  private final String name;
+  private final Kind kind;
+  private final int offset;
+  private final int endOffset;
+
+  public DataFieldIndexEntry(String name, Kind kind, int offset, int endOffset) {
+    this.name = name;
+    this.kind = kind;
+    this.offset = offset;
+    this.endOffset = endOffset;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Kind getKind() {
+    return kind;
+  }
+
+  public int getOffset() {
+    return offset;
+  }
+
+  public int getEndOffset() {
+    return endOffset;
+  }
+
+  /**
+   * Returns true if the owning tag is nested in the tag with the specified text range. Tags can't partially
+   * overlap, so containment of the ranges is enough.
+   */
+  public boolean isDescendantOf(int tagOffset, int tagEndOffset) {
+    return tagOffset < offset && endOffset <= tagEndOffset;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof DataFieldIndexEntry)) return false;
+
+    final DataFieldIndexEntry that = (DataFieldIndexEntry) o;
+    return offset == that.offset
+        && endOffset == that.endOffset
+        && kind == that.kind
+        && name.equals(that.name);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = name.hashCode();
+    result = 31 * result + kind.hashCode();
+    result = 31 * result + offset;
+    return result;
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.ui.index;
+
+import com.intellij.openapi.fileTypes.StdFileTypes;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaCodeReferenceElement;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifierListOwner;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.intellij.util.text.CharArrayUtil;
+import org.jboss.errai.idea.plugin.util.AnnotationValueElement;
+import org.jboss.errai.idea.plugin.util.Util;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes the <tt>@DataField</tt> members declared in the classes of Java files, including nested classes, by
+ * data-field name. The value is the offset of each <tt>@DataField</tt> annotation in the file.
+ */
+public class DataFieldMemberIndex extends FileBasedIndexExtension<String, List<Integer>> {
+  public static final ID<String, List<Integer>> NAME = ID.create("errai.ui.DataFieldMemberIndex");
+
+  private static final String DATA_FIELD_ANNOTATION_NAME = "DataField";
+
+  private static final int VERSION = 2;
+
+  @NotNull
+  @Override
+  public ID<String, List<Integer>> getName() {
+    return NAME;
+  }
+
+  @NotNull
+  @Override
+  public DataIndexer<String, List<Integer>, FileContent> getIndexer() {
+    return new DataIndexer<String, List<Integer>, FileContent>() {
+      @NotNull
+      @Override
+      public Map<String, List<Integer>> map(FileContent inputData) {
+        if (CharArrayUtil.indexOf(inputData.getContentAsText(), DATA_FIELD_ANNOTATION_NAME, 0) == -1) {
+          return Collections.emptyMap();
+        }
+
+        final PsiFile psiFile = inputData.getPsiFile();
+        if (!(psiFile instanceof PsiJavaFile)) {
+          return Collections.emptyMap();
+        }
+
+        final Map<String, List<Integer>> result = new HashMap<String, List<Integer>>();
+        for (PsiClass psiClass : ((PsiJavaFile) psiFile).getClasses()) {
+          _indexClass(result, psiClass);
+        }
+        return result;
+      }
+    };
+  }
+
+  private static void _indexClass(Map<String, List<Integer>> result, PsiClass psiClass) {
+    _indexMembers(result, psiClass.getFields());
+
+    for (PsiMethod method : psiClass.getMethods()) {
+      _indexMembers(result, new PsiModifierListOwner[]{method});
+      _indexMembers(result, method.getParameterList().getParameters());
+    }
+
+    for (PsiClass innerClass : psiClass.getInnerClasses()) {
+      _indexClass(result, innerClass);
+    }
+  }
+
+  private static void _indexMembers(Map<String, List<Integer>> result, PsiModifierListOwner[] members) {
+    for (PsiModifierListOwner member : members) {
+      if (member.getModifierList() == null) {
+        continue;
+      }
+
+      for (PsiAnnotation annotation : member.getModifierList().getAnnotations()) {
+        final PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+        if (reference == null || !DATA_FIELD_ANNOTATION_NAME.equals(reference.getReferenceName())) {
+          continue;
+        }
+
+        final AnnotationValueElement value = Util.getValueStringFromAnnotationWithDefault(annotation);
+        if (value == null || value.getValue() == null) {
+          continue;
+        }
+
+        List<Integer> offsets = result.get(value.getValue());
+        if (offsets == null) {
+          result.put(value.getValue(), offsets = new ArrayList<Integer>(1));
+        }
+        offsets.add(annotation.getTextRange().getStartOffset());
+      }
+    }
+  }
+
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return new EnumeratorStringDescriptor();
+  }
+
+  @Override
+  public DataExternalizer<List<Integer>> getValueExternalizer() {
+    return new DataExternalizer<List<Integer>>() {
+      @Override
+      public void save(DataOutput out, List<Integer> value) throws IOException {
+        DataInputOutputUtil.writeINT(out, value.size());
+        for (Integer offset : value) {
+          DataInputOutputUtil.writeINT(out, offset);
+        }
+      }
+
+      @Override
+      public List<Integer> read(DataInput in) throws IOException {
+        final int size = DataInputOutputUtil.readINT(in);
+        final List<Integer> offsets = new ArrayList<Integer>(size);
+        for (int i = 0; i < size; i++) {
+          offsets.add(DataInputOutputUtil.readINT(in));
+        }
+        return offsets;
+      }
+    };
+  }
+
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return new FileBasedIndex.InputFilter() {
+      @Override
+      public boolean acceptInput(VirtualFile file) {
+        return file.getFileType() == StdFileTypes.JAVA;
+      }
+    };
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+  @Override
+  public int getVersion() {
+    return VERSION;
+  }
+
+  /**
+   * Returns the <tt>@DataField</tt> annotations with the specified data-field name in the files of the specified
+   * scope. Only the files containing such an annotation are loaded.
+   */
+  @NotNull
+  public static List<PsiAnnotation> getDataFieldAnnotations(final Project project,
+                                                            String dataFieldName,
+                                                            GlobalSearchScope scope) {
+    final PsiManager psiManager = PsiManager.getInstance(project);
+    final List<PsiAnnotation> annotations = new ArrayList<PsiAnnotation>();
+
+    FileBasedIndex.getInstance().processValues(NAME, dataFieldName, null,
+        new FileBasedIndex.ValueProcessor<List<Integer>>() {
+          @Override
+          public boolean process(VirtualFile file, List<Integer> offsets) {
+            final PsiFile psiFile = psiManager.findFile(file);
+            if (psiFile == null) {
+              return true;
+            }
+
+            for (Integer offset : offsets) {
+              final PsiAnnotation annotation
+                  = PsiTreeUtil.getParentOfType(psiFile.findElementAt(offset), PsiAnnotation.class, false);
+              if (annotation != null) {
+                annotations.add(annotation);
+              }
+            }
+            return true;
+          }
+        }, scope);
+
+    return annotations;
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.ui.index;
+
+import com.intellij.openapi.fileTypes.StdFileTypes;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationMemberValue;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaCodeReferenceElement;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiModifierList;
+import com.intellij.psi.PsiNameValuePair;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.ScalarIndexExtension;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.intellij.util.text.CharArrayUtil;
+import org.jboss.errai.idea.plugin.ui.TemplateUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes Java files by the file name, without any path, of the Errai UI template each of their
+ * <tt>@Templated</tt> classes uses.
+ */
+public class TemplateOwnerIndex extends ScalarIndexExtension<String> {
+  public static final ID<String, Void> NAME = ID.create("errai.ui.TemplateOwnerIndex");
+
+  private static final String TEMPLATED_ANNOTATION_NAME = "Templated";
+
+  private static final int VERSION = 1;
+
+  @NotNull
+  @Override
+  public ID<String, Void> getName() {
+    return NAME;
+  }
+
+  @NotNull
+  @Override
+  public DataIndexer<String, Void, FileContent> getIndexer() {
+    return new DataIndexer<String, Void, FileContent>() {
+      @NotNull
+      @Override
+      public Map<String, Void> map(FileContent inputData) {
+        if (CharArrayUtil.indexOf(inputData.getContentAsText(), TEMPLATED_ANNOTATION_NAME, 0) == -1) {
+          return Collections.emptyMap();
+        }
+
+        final PsiFile psiFile = inputData.getPsiFile();
+        if (!(psiFile instanceof PsiJavaFile)) {
+          return Collections.emptyMap();
+        }
+
+        final Map<String, Void> result = new HashMap<String, Void>();
+        for (PsiClass psiClass : ((PsiJavaFile) psiFile).getClasses()) {
+          final String templateFileName = getTemplateFileName(psiClass);
+          if (templateFileName != null) {
+            result.put(templateFileName, null);
+          }
+        }
+        return result;
+      }
+    };
+  }
+
+  /**
+   * Returns the file name, without any path, of the template used by the specified class, or <tt>null</tt> if the
+   * class is not annotated with <tt>@Templated</tt>. The annotation is matched by its simple name.
+   */
+  private static String getTemplateFileName(PsiClass psiClass) {
+    final PsiModifierList modifierList = psiClass.getModifierList();
+    if (modifierList == null) {
+      return null;
+    }
+
+    for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+      final PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+      if (reference == null || !TEMPLATED_ANNOTATION_NAME.equals(reference.getReferenceName())) {
+        continue;
+      }
+
+      final PsiNameValuePair[] attributes = annotation.getParameterList().getAttributes();
+
+      String fileName = "";
+      if (attributes.length != 0) {
+        final PsiAnnotationMemberValue value = attributes[0].getValue();
+        if (!(value instanceof PsiLiteralExpression)) {
+          return null;
+        }
+
+        final Object literal = ((PsiLiteralExpression) value).getValue();
+        if (!(literal instanceof String)) {
+          return null;
+        }
+
+        fileName = TemplateUtil.parseReference((String) literal).getFileName();
+      }
+
+      if ("".equals(fileName)) {
+        return psiClass.getName() + ".html";
+      }
+
+      return fileName.substring(fileName.lastIndexOf('/') + 1);
+    }
+    return null;
+  }
+
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return new EnumeratorStringDescriptor();
+  }
+
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return new FileBasedIndex.InputFilter() {
+      @Override
+      public boolean acceptInput(VirtualFile file) {
+        return file.getFileType() == StdFileTypes.JAVA;
+      }
+    };
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+  @Override
+  public int getVersion() {
+    return VERSION;
+  }
+
+  /**
+   * Returns the top-level classes in the project which may use the specified template. The caller is expected to
+   * confirm each candidate by resolving its template.
+   */
+  @NotNull
+  public static Collection<PsiClass> getCandidateOwners(Project project, VirtualFile templateFile) {
+    final Collection<VirtualFile> files = FileBasedIndex.getInstance()
+        .getContainingFiles(NAME, templateFile.getName(), GlobalSearchScope.projectScope(project));
+
+    if (files.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    final PsiManager psiManager = PsiManager.getInstance(project);
+    final List<PsiClass> candidates = new ArrayList<PsiClass>();
+    for (VirtualFile file : files) {
+      final PsiFile psiFile = psiManager.findFile(file);
+      if (psiFile instanceof PsiJavaFile) {
+        Collections.addAll(candidates, ((PsiJavaFile) psiFile).getClasses());
+      }
+    }
+    return candidates;
+  }
+}
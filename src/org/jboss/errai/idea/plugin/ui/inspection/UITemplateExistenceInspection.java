@@ -16,7 +16,6 @@
 
 package org.jboss.errai.idea.plugin.ui.inspection;
 
-import com.google.common.collect.Multimap;
 import com.intellij.codeHighlighting.HighlightDisplayLevel;
 import com.intellij.codeInsight.daemon.GroupNames;
 import com.intellij.codeInspection.BaseJavaLocalInspectionTool;
@@ -26,7 +25,6 @@ import com.intellij.psi.JavaElementVisitor;
 import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiNameValuePair;
-import org.jboss.errai.idea.plugin.ui.TemplateDataField;
 import org.jboss.errai.idea.plugin.ui.TemplateUtil;
 import org.jboss.errai.idea.plugin.ui.model.TemplateMetaData;
 import org.jboss.errai.idea.plugin.util.Types;
@@ -111,9 +109,7 @@ public class UITemplateExistenceInspection extends BaseJavaLocalInspectionTool {
         }
       }
       else if (attribute != null && !metaData.getTemplateExpression().getRootNode().equals("")) {
-        final Multimap<String, TemplateDataField> allDataFieldTags = metaData.getAllDataFieldsInTemplate(true);
-
-        if (!allDataFieldTags.containsKey(metaData.getTemplateExpression().getRootNode())) {
+        if (metaData.getRootDataField() == null) {
           holder.registerProblem(attribute, "The data-field element specified for the root " +
               "note does not exist: " + metaData.getTemplateExpression().getRootNode());
         }
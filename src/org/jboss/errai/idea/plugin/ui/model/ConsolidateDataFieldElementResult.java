@@ -17,6 +17,7 @@
 package org.jboss.errai.idea.plugin.ui.model;
 
 import com.intellij.psi.PsiElement;
+import org.jboss.errai.idea.plugin.ui.TemplateDataField;
 
 /**
  * @author Mike Brock
@@ -25,16 +26,26 @@ public class ConsolidateDataFieldElementResult {
   private final String name;
   private final String sourceName;
   private final PsiElement element;
-  private PsiElement linkingElement;
+  private final TemplateDataField templateDataField;
+  private TemplateDataField linkingDataField;
   private final boolean dataFieldInClass;
 
   public ConsolidateDataFieldElementResult(String name, String sourceName, PsiElement element, boolean dataFieldInClass) {
     this.name = name;
     this.sourceName = sourceName;
     this.element = element;
+    this.templateDataField = null;
     this.dataFieldInClass = dataFieldInClass;
   }
 
+  public ConsolidateDataFieldElementResult(String name, String sourceName, TemplateDataField templateDataField) {
+    this.name = name;
+    this.sourceName = sourceName;
+    this.element = null;
+    this.templateDataField = templateDataField;
+    this.dataFieldInClass = false;
+  }
+
   public String getName() {
     return name;
   }
@@ -43,16 +54,25 @@ public class ConsolidateDataFieldElementResult {
     return sourceName;
   }
 
-  public void setLinkingElement(PsiElement linkingElement) {
-    this.linkingElement = linkingElement;
+  public void setLinkingDataField(TemplateDataField linkingDataField) {
+    this.linkingDataField = linkingDataField;
   }
 
   public PsiElement getElement() {
+    if (templateDataField != null) {
+      return templateDataField.getAttributeValueElement();
+    }
     return element;
   }
 
   public PsiElement getLinkingElement() {
-    return linkingElement != null ? linkingElement : element;
+    if (linkingDataField != null) {
+      final PsiElement linkingElement = linkingDataField.getAttributeValueElement();
+      if (linkingElement != null) {
+        return linkingElement;
+      }
+    }
+    return getElement();
   }
 
   public boolean isDataFieldInClass() {
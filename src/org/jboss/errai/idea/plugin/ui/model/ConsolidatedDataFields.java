@@ -0,0 +1,47 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.ui.model;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The data-fields of a <tt>@Templated</tt> bean: those declared in the bean merged with those of its template, along
+ * with the names of the template's tags which are in the scope of the template root.
+ */
+public class ConsolidatedDataFields {
+  private final Map<String, ConsolidateDataFieldElementResult> dataFields;
+  private final Set<String> inScopeTemplateNames;
+
+  public ConsolidatedDataFields(Map<String, ConsolidateDataFieldElementResult> dataFields,
+                                Set<String> inScopeTemplateNames) {
+    this.dataFields = Collections.unmodifiableMap(dataFields);
+    this.inScopeTemplateNames = Collections.unmodifiableSet(inScopeTemplateNames);
+  }
+
+  public Map<String, ConsolidateDataFieldElementResult> getDataFields() {
+    return dataFields;
+  }
+
+  /**
+   * Returns true if the template has a <tt>data-field</tt> or <tt>id</tt> with the specified name under the root.
+   */
+  public boolean isInScopeOfTemplate(String name) {
+    return inScopeTemplateNames.contains(name);
+  }
+}
@@ -16,19 +16,31 @@
 
 package org.jboss.errai.idea.plugin.ui.model;
 
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.Multimap;
 import org.jboss.errai.idea.plugin.ui.TemplateDataField;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
 * @author Mike Brock
 */
 public class DataFieldCacheHolder {
   private final long time;
   private final Multimap<String, TemplateDataField> value;
+  private final Map<String, TemplateDataField> firstByName;
+  private final ConcurrentMap<TemplateDataField, Multimap<String, TemplateDataField>> valueByRoot
+      = new ConcurrentHashMap<TemplateDataField, Multimap<String, TemplateDataField>>();
 
-  public DataFieldCacheHolder(long time, Multimap<String, TemplateDataField> value) {
+  public DataFieldCacheHolder(long time,
+                              Multimap<String, TemplateDataField> value,
+                              Map<String, TemplateDataField> firstByName) {
     this.time = time;
     this.value = value;
+    this.firstByName = firstByName;
   }
 
   public long getTime() {
@@ -38,4 +50,38 @@ public class DataFieldCacheHolder {
   public Multimap<String, TemplateDataField> getValue() {
     return value;
   }
+
+  /**
+   * Returns the first data-field in the template, in document order, with the specified name.
+   */
+  public TemplateDataField getFirst(String name) {
+    return firstByName.get(name);
+  }
+
+  /**
+   * Returns the data-fields nested inside the specified root data-field of the template. The result is built once
+   * per root found by {@link #getFirst(String)} and kept for as long as this holder; roots from an older snapshot of
+   * the template are scoped without being kept.
+   */
+  public Multimap<String, TemplateDataField> getValueScopedTo(TemplateDataField root) {
+    final Multimap<String, TemplateDataField> scoped = valueByRoot.get(root);
+    if (scoped != null) {
+      return scoped;
+    }
+
+    final ImmutableMultimap.Builder<String, TemplateDataField> builder = ImmutableListMultimap.builder();
+    for (Map.Entry<String, TemplateDataField> entry : value.entries()) {
+      if (entry.getValue().isDescendantOf(root)) {
+        builder.put(entry);
+      }
+    }
+
+    final Multimap<String, TemplateDataField> built = builder.build();
+    if (firstByName.get(root.getDataFieldName()) != root) {
+      return built;
+    }
+
+    final Multimap<String, TemplateDataField> existing = valueByRoot.putIfAbsent(root, built);
+    return existing == null ? built : existing;
+  }
 }
@@ -20,7 +20,10 @@ import com.google.common.collect.Multimap;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
 import com.intellij.psi.PsiNameValuePair;
+import com.intellij.psi.xml.XmlFile;
 import com.intellij.psi.xml.XmlTag;
 import org.jboss.errai.idea.plugin.ui.TemplateDataField;
 import org.jboss.errai.idea.plugin.ui.TemplateUtil;
@@ -38,7 +41,6 @@ public class TemplateMetaData {
   private final PsiNameValuePair attribute;
   private final PsiClass templateClass;
   private final VirtualFile templateFile;
-  private final XmlTag rootTag;
   private final Project project;
 
   public TemplateMetaData(TemplateExpression templateExpression,
@@ -46,14 +48,12 @@ public class TemplateMetaData {
                           PsiNameValuePair attribute,
                           PsiClass templateClass,
                           VirtualFile templateFile,
-                          XmlTag rootTag,
                           Project project) {
     this.templateExpression = templateExpression;
     this.defaultReference = defaultReference;
     this.attribute = attribute;
     this.templateClass = templateClass;
     this.templateFile = templateFile;
-    this.rootTag = rootTag;
     this.project = project;
   }
 
@@ -77,8 +77,33 @@ public class TemplateMetaData {
     return attribute;
   }
 
+  /**
+   * Returns the data-field the template is rooted at, or <tt>null</tt> if the whole template is used or the root
+   * does not exist. The root is looked up on each call, so the result follows edits to the template.
+   */
+  public TemplateDataField getRootDataField() {
+    if (templateFile == null || !templateExpression.hasRootNode()) {
+      return null;
+    }
+
+    return TemplateUtil.findDataFieldTag(templateFile, project, templateExpression.getRootNode());
+  }
+
   public XmlTag getRootTag() {
-    return rootTag;
+    if (templateExpression.hasRootNode()) {
+      final TemplateDataField rootDataField = getRootDataField();
+      return rootDataField == null ? null : rootDataField.getTag();
+    }
+
+    if (templateFile == null || !templateFile.isValid()) {
+      return null;
+    }
+
+    final PsiFile file = PsiManager.getInstance(project).findFile(templateFile);
+    if (file instanceof XmlFile) {
+      return ((XmlFile) file).getRootTag();
+    }
+    return null;
   }
 
   @NotNull
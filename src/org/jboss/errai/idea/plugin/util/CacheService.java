@@ -0,0 +1,188 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.intellij.concurrency.JobScheduler;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiFile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the plugin's per-file caches for a project. Files are held weakly and each cache keeps at most
+ * {@link #MAX_ENTRIES_PER_CACHE} files, evicting the least recently used, so cached models never keep old PSI alive.
+ * An entry is discarded when the modification stamp of its file changes or the {@link CacheProvider} rejects it.
+ * <p>
+ * Usage of every cache is counted in a {@link CacheStatistics}. Setting the <tt>errai.plugin.cacheStatsInterval</tt>
+ * system property to a number of seconds also writes the statistics to the IDE log at that interval.
+ */
+public class CacheService implements Disposable {
+  private static final Logger LOG = Logger.getInstance(CacheService.class);
+
+  private static final int MAX_ENTRIES_PER_CACHE = 500;
+  private static final String STATISTICS_INTERVAL_PROPERTY = "errai.plugin.cacheStatsInterval";
+
+  private final Project project;
+  private final ConcurrentMap<Key<?>, Cache<PsiFile, CacheEntry>> caches
+      = new ConcurrentHashMap<Key<?>, Cache<PsiFile, CacheEntry>>();
+  private final ConcurrentMap<String, CacheStatistics> statistics
+      = new ConcurrentHashMap<String, CacheStatistics>();
+  private final ScheduledFuture<?> statisticsDump;
+
+  private static class CacheEntry {
+    private final long modificationStamp;
+    private final Object value;
+
+    private CacheEntry(long modificationStamp, Object value) {
+      this.modificationStamp = modificationStamp;
+      this.value = value;
+    }
+  }
+
+  public CacheService(Project project) {
+    this.project = project;
+
+    final int interval = Integer.getInteger(STATISTICS_INTERVAL_PROPERTY, 0);
+    if (interval > 0) {
+      statisticsDump = JobScheduler.getScheduler().scheduleWithFixedDelay(new Runnable() {
+        @Override
+        public void run() {
+          LOG.info(getStatisticsReport());
+        }
+      }, interval, interval, TimeUnit.SECONDS);
+    }
+    else {
+      statisticsDump = null;
+    }
+
+    Disposer.register(project, this);
+  }
+
+  public static CacheService getInstance(Project project) {
+    return ServiceManager.getService(project, CacheService.class);
+  }
+
+  private Cache<PsiFile, CacheEntry> getCache(Key<?> cacheKey) {
+    Cache<PsiFile, CacheEntry> cache = caches.get(cacheKey);
+    if (cache == null) {
+      final Cache<PsiFile, CacheEntry> newCache = CacheBuilder.newBuilder()
+          .weakKeys()
+          .maximumSize(MAX_ENTRIES_PER_CACHE)
+          .build();
+
+      cache = caches.putIfAbsent(cacheKey, newCache);
+      if (cache == null) {
+        cache = newCache;
+      }
+    }
+    return cache;
+  }
+
+  /**
+   * Returns the statistics of the cache with the specified name. Caches held outside of this service may use this to
+   * report their usage alongside the others.
+   */
+  public CacheStatistics getStatistics(String name) {
+    CacheStatistics cacheStatistics = statistics.get(name);
+    if (cacheStatistics == null) {
+      final CacheStatistics newStatistics = new CacheStatistics(name);
+      cacheStatistics = statistics.putIfAbsent(name, newStatistics);
+      if (cacheStatistics == null) {
+        cacheStatistics = newStatistics;
+      }
+    }
+    return cacheStatistics;
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T getOrCreate(Key<T> cacheKey, PsiFile file, CacheProvider<T> provider) {
+    final Cache<PsiFile, CacheEntry> cache = getCache(cacheKey);
+    final CacheStatistics cacheStatistics = getStatistics(cacheKey.toString());
+    final long modificationStamp = file.getModificationStamp();
+
+    final CacheEntry entry = cache.getIfPresent(file);
+    if (entry != null) {
+      if (entry.modificationStamp == modificationStamp && provider.isCacheValid((T) entry.value)) {
+        cacheStatistics.recordHit();
+        return (T) entry.value;
+      }
+      cacheStatistics.recordInvalidation();
+    }
+
+    final long start = System.nanoTime();
+    final T value = provider.provide();
+    cacheStatistics.recordMiss(System.nanoTime() - start);
+
+    if (value != null) {
+      cache.put(file, new CacheEntry(modificationStamp, value));
+    }
+    return value;
+  }
+
+  public void invalidate(Key<?> cacheKey, PsiFile file) {
+    final Cache<PsiFile, CacheEntry> cache = caches.get(cacheKey);
+    if (cache != null && cache.getIfPresent(file) != null) {
+      cache.invalidate(file);
+      getStatistics(cacheKey.toString()).recordInvalidation();
+    }
+  }
+
+  public String getStatisticsReport() {
+    for (Map.Entry<Key<?>, Cache<PsiFile, CacheEntry>> entry : caches.entrySet()) {
+      getStatistics(entry.getKey().toString()).setEntryCount(entry.getValue().size());
+    }
+
+    final List<CacheStatistics> sorted = new ArrayList<CacheStatistics>(statistics.values());
+    Collections.sort(sorted, new Comparator<CacheStatistics>() {
+      @Override
+      public int compare(CacheStatistics o1, CacheStatistics o2) {
+        return o1.getName().compareTo(o2.getName());
+      }
+    });
+
+    final StringBuilder report = new StringBuilder("Errai plugin cache statistics for ").append(project.getName());
+    if (sorted.isEmpty()) {
+      report.append("\n  (no caches in use)");
+    }
+    for (CacheStatistics cacheStatistics : sorted) {
+      report.append("\n  ").append(cacheStatistics);
+    }
+    return report.toString();
+  }
+
+  @Override
+  public void dispose() {
+    if (statisticsDump != null) {
+      statisticsDump.cancel(false);
+    }
+  }
+}
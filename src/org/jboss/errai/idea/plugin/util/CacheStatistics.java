@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Usage counters of a single plugin cache, as collected by {@link CacheService}.
+ */
+public class CacheStatistics {
+  private final String name;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong invalidations = new AtomicLong();
+  private final AtomicLong providerNanos = new AtomicLong();
+  private final AtomicLong entryCount = new AtomicLong();
+
+  public CacheStatistics(String name) {
+    this.name = name;
+  }
+
+  public void recordHit() {
+    hits.incrementAndGet();
+  }
+
+  public void recordMiss(long providerNanos) {
+    misses.incrementAndGet();
+    this.providerNanos.addAndGet(providerNanos);
+  }
+
+  public void recordInvalidation() {
+    invalidations.incrementAndGet();
+  }
+
+  public void setEntryCount(long entryCount) {
+    this.entryCount.set(entryCount);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public long getInvalidations() {
+    return invalidations.get();
+  }
+
+  public long getProviderTime(TimeUnit unit) {
+    return unit.convert(providerNanos.get(), TimeUnit.NANOSECONDS);
+  }
+
+  public long getEntryCount() {
+    return entryCount.get();
+  }
+
+  @Override
+  public String toString() {
+    final long hits = getHits();
+    final long requests = hits + getMisses();
+
+    return name + ": " +
+        "hits=" + hits +
+        ", misses=" + getMisses() +
+        ", hit ratio=" + (requests == 0 ? 0 : hits * 100 / requests) + "%" +
+        ", invalidations=" + getInvalidations() +
+        ", provider time=" + getProviderTime(TimeUnit.MILLISECONDS) + "ms" +
+        ", entries=" + getEntryCount();
+  }
+}
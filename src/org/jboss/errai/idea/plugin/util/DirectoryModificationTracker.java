@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.util;
+
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileAdapter;
+import com.intellij.openapi.vfs.VirtualFileEvent;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.VirtualFileMoveEvent;
+import com.intellij.openapi.vfs.VirtualFilePropertyEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out {@link ModificationTracker}s for directories, by path, which change whenever a file is created, deleted,
+ * renamed or moved in that directory. The directory does not need to exist: creating or removing any directory changes
+ * every tracker, so lookups that failed because a directory was missing are invalidated too.
+ */
+public class DirectoryModificationTracker {
+  private final ConcurrentMap<String, AtomicLong> directoryCounts = new ConcurrentHashMap<String, AtomicLong>();
+  private final AtomicLong structureCount = new AtomicLong();
+
+  public DirectoryModificationTracker(Project project) {
+    VirtualFileManager.getInstance().addVirtualFileListener(new VirtualFileAdapter() {
+      @Override
+      public void propertyChanged(VirtualFilePropertyEvent event) {
+        if (VirtualFile.PROP_NAME.equals(event.getPropertyName())) {
+          fileChanged(event.getFile(), event.getParent());
+        }
+      }
+
+      @Override
+      public void fileCreated(VirtualFileEvent event) {
+        fileChanged(event.getFile(), event.getParent());
+      }
+
+      @Override
+      public void beforeFileDeletion(VirtualFileEvent event) {
+        fileChanged(event.getFile(), event.getParent());
+      }
+
+      @Override
+      public void fileMoved(VirtualFileMoveEvent event) {
+        fileChanged(event.getFile(), event.getOldParent());
+        fileChanged(event.getFile(), event.getNewParent());
+      }
+    }, project);
+  }
+
+  public static DirectoryModificationTracker getInstance(Project project) {
+    return ServiceManager.getService(project, DirectoryModificationTracker.class);
+  }
+
+  private void fileChanged(VirtualFile file, VirtualFile parent) {
+    if (file.isDirectory()) {
+      structureCount.incrementAndGet();
+    }
+
+    if (parent != null) {
+      final AtomicLong count = directoryCounts.get(parent.getPath());
+      if (count != null) {
+        count.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Returns a tracker for the directory with the specified system-independent path.
+   */
+  @NotNull
+  public ModificationTracker getTracker(String directoryPath) {
+    final String path = FileUtil.toCanonicalPath(FileUtil.toSystemIndependentName(directoryPath));
+
+    AtomicLong count = directoryCounts.get(path);
+    if (count == null) {
+      final AtomicLong newCount = new AtomicLong();
+      count = directoryCounts.putIfAbsent(path, newCount);
+      if (count == null) {
+        count = newCount;
+      }
+    }
+
+    final AtomicLong directoryCount = count;
+    return new ModificationTracker() {
+      @Override
+      public long getModificationCount() {
+        return directoryCount.get() + structureCount.get();
+      }
+    };
+  }
+}
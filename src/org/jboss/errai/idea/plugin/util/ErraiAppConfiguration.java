@@ -0,0 +1,211 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.util;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileAdapter;
+import com.intellij.openapi.vfs.VirtualFileEvent;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.VirtualFileMoveEvent;
+import com.intellij.openapi.vfs.VirtualFilePropertyEvent;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiTreeChangeAdapter;
+import com.intellij.psi.PsiTreeChangeEvent;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.indexing.FileBasedIndex;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The Errai settings configured in the <tt>ErraiApp.properties</tt> files of a project and its libraries, read from
+ * the {@link ErraiAppPropertiesIndex}. Each setting is computed once and kept until one of those files is edited,
+ * created, deleted, renamed or moved, or the project roots change.
+ */
+public class ErraiAppConfiguration implements ModificationTracker {
+  public static final String BINDABLE_TYPES = "errai.ui.bindableTypes";
+  public static final String SERIALIZABLE_TYPES = "errai.marshalling.serializableTypes";
+
+  private static final Interner<String> TYPE_NAMES = Interners.newWeakInterner();
+
+  private final Project project;
+  private final AtomicLong modificationCount = new AtomicLong();
+  private final CachedValue<ConcurrentMap<String, ImmutableSet<String>>> settings;
+
+  public ErraiAppConfiguration(Project project) {
+    this.project = project;
+
+    this.settings = CachedValuesManager.getManager(project).createCachedValue(
+        new CachedValueProvider<ConcurrentMap<String, ImmutableSet<String>>>() {
+          @Override
+          public Result<ConcurrentMap<String, ImmutableSet<String>>> compute() {
+            return Result.<ConcurrentMap<String, ImmutableSet<String>>>create(
+                new ConcurrentHashMap<String, ImmutableSet<String>>(),
+                ErraiAppConfiguration.this, ProjectRootManager.getInstance(ErraiAppConfiguration.this.project));
+          }
+        }, false);
+
+    PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeChangeAdapter() {
+      @Override
+      public void childAdded(@NotNull PsiTreeChangeEvent event) {
+        psiChanged(event.getFile());
+      }
+
+      @Override
+      public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+        psiChanged(event.getFile());
+      }
+
+      @Override
+      public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+        psiChanged(event.getFile());
+      }
+
+      @Override
+      public void childMoved(@NotNull PsiTreeChangeEvent event) {
+        psiChanged(event.getFile());
+      }
+
+      @Override
+      public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+        psiChanged(event.getFile());
+      }
+    }, project);
+
+    VirtualFileManager.getInstance().addVirtualFileListener(new VirtualFileAdapter() {
+      @Override
+      public void contentsChanged(VirtualFileEvent event) {
+        fileChanged(event.getFile());
+      }
+
+      @Override
+      public void propertyChanged(VirtualFilePropertyEvent event) {
+        if (VirtualFile.PROP_NAME.equals(event.getPropertyName())
+            && (ErraiAppPropertiesIndex.FILE_NAME.equals(event.getOldValue())
+            || ErraiAppPropertiesIndex.FILE_NAME.equals(event.getNewValue()))) {
+          modificationCount.incrementAndGet();
+        }
+      }
+
+      @Override
+      public void fileCreated(VirtualFileEvent event) {
+        fileChanged(event.getFile());
+      }
+
+      @Override
+      public void beforeFileDeletion(VirtualFileEvent event) {
+        fileChanged(event.getFile());
+      }
+
+      @Override
+      public void fileMoved(VirtualFileMoveEvent event) {
+        fileChanged(event.getFile());
+        if (event.getFile().isDirectory() && mayContainConfiguration(event.getOldParent())) {
+          modificationCount.incrementAndGet();
+        }
+      }
+    }, project);
+  }
+
+  public static ErraiAppConfiguration getInstance(Project project) {
+    return ServiceManager.getService(project, ErraiAppConfiguration.class);
+  }
+
+  private void psiChanged(PsiFile file) {
+    if (file != null && ErraiAppPropertiesIndex.FILE_NAME.equals(file.getName())) {
+      modificationCount.incrementAndGet();
+    }
+  }
+
+  private void fileChanged(VirtualFile file) {
+    if (ErraiAppPropertiesIndex.FILE_NAME.equals(file.getName())
+        || (file.isDirectory() && mayContainConfiguration(file))) {
+      modificationCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * Returns true if a created, deleted or moved directory may hold configuration files of this project: it is under
+   * a source root, or it is in the project content and contains an <tt>ErraiApp.properties</tt> file. Excluded
+   * directories, such as compiler output, never do.
+   */
+  private boolean mayContainConfiguration(VirtualFile directory) {
+    if (project.isDisposed() || !directory.isValid()) {
+      return false;
+    }
+
+    final ProjectFileIndex fileIndex = ProjectRootManager.getInstance(project).getFileIndex();
+    if (!fileIndex.isInContent(directory)) {
+      return false;
+    }
+    return fileIndex.isInSourceContent(directory) || directory.findChild(ErraiAppPropertiesIndex.FILE_NAME) != null;
+  }
+
+  /**
+   * Changes whenever any <tt>ErraiApp.properties</tt> file may have changed. Caches depending on the configuration
+   * should use this as a dependency.
+   */
+  @Override
+  public long getModificationCount() {
+    return modificationCount.get();
+  }
+
+  public ImmutableSet<String> getBindableTypes() {
+    return getConfiguredTypes(BINDABLE_TYPES);
+  }
+
+  public ImmutableSet<String> getSerializableTypes() {
+    return getConfiguredTypes(SERIALIZABLE_TYPES);
+  }
+
+  /**
+   * Returns the whitespace separated class names configured under the specified property in all
+   * <tt>ErraiApp.properties</tt> files.
+   */
+  public ImmutableSet<String> getConfiguredTypes(String property) {
+    final ConcurrentMap<String, ImmutableSet<String>> values = settings.getValue();
+
+    ImmutableSet<String> types = values.get(property);
+    if (types == null) {
+      final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+      for (List<String> names : FileBasedIndex.getInstance()
+          .getValues(ErraiAppPropertiesIndex.NAME, property, GlobalSearchScope.allScope(project))) {
+        for (String name : names) {
+          builder.add(TYPE_NAMES.intern(name));
+        }
+      }
+      types = builder.build();
+      values.put(property, types);
+    }
+    return types;
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2013 Red Hat, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.jboss.errai.idea.plugin.util;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Indexes the properties of every <tt>ErraiApp.properties</tt> file, including those in libraries. The value of each
+ * property is stored already split on whitespace, since all of the Errai settings read from these files are lists of
+ * class names.
+ */
+public class ErraiAppPropertiesIndex extends FileBasedIndexExtension<String, List<String>> {
+  public static final ID<String, List<String>> NAME = ID.create("errai.ErraiAppPropertiesIndex");
+
+  public static final String FILE_NAME = "ErraiApp.properties";
+
+  private static final int VERSION = 1;
+
+  @NotNull
+  @Override
+  public ID<String, List<String>> getName() {
+    return NAME;
+  }
+
+  @NotNull
+  @Override
+  public DataIndexer<String, List<String>, FileContent> getIndexer() {
+    return new DataIndexer<String, List<String>, FileContent>() {
+      @NotNull
+      @Override
+      public Map<String, List<String>> map(FileContent inputData) {
+        final Properties properties = new Properties();
+        try {
+          properties.load(new StringReader(inputData.getContentAsText().toString()));
+        }
+        catch (IOException e) {
+          return Collections.emptyMap();
+        }
+        catch (IllegalArgumentException e) {
+          // malformed unicode escape; the file is being edited.
+          return Collections.emptyMap();
+        }
+
+        final Map<String, List<String>> result = new HashMap<String, List<String>>();
+        for (String key : properties.stringPropertyNames()) {
+          final String value = properties.getProperty(key).trim();
+          if (value.length() == 0) {
+            result.put(key, Collections.<String>emptyList());
+          }
+          else {
+            result.put(key, Arrays.asList(value.split("\\s+")));
+          }
+        }
+        return result;
+      }
+    };
+  }
+
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return new EnumeratorStringDescriptor();
+  }
+
+  @Override
+  public DataExternalizer<List<String>> getValueExternalizer() {
+    return new DataExternalizer<List<String>>() {
+      @Override
+      public void save(DataOutput out, List<String> value) throws IOException {
+        DataInputOutputUtil.writeINT(out, value.size());
+        for (String s : value) {
+          IOUtil.writeUTF(out, s);
+        }
+      }
+
+      @Override
+      public List<String> read(DataInput in) throws IOException {
+        final int size = DataInputOutputUtil.readINT(in);
+        final List<String> values = new ArrayList<String>(size);
+        for (int i = 0; i < size; i++) {
+          values.add(IOUtil.readUTF(in));
+        }
+        return values;
+      }
+    };
+  }
+
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return new FileBasedIndex.InputFilter() {
+      @Override
+      public boolean acceptInput(VirtualFile file) {
+        return FILE_NAME.equals(file.getName());
+      }
+    };
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+  @Override
+  public int getVersion() {
+    return VERSION;
+  }
+}
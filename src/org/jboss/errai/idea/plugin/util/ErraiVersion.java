@@ -1,21 +1,42 @@
 package org.jboss.errai.idea.plugin.util;
 
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 
 /**
  * @author Mike Brock
  */
 public abstract class ErraiVersion {
+  private static final Key<CachedValue<VersionSpec>> VERSION_SPEC_KEY = Key.create("ERRAI_VERSION_SPEC_KEY");
+
   private ErraiVersion() {}
 
   public static VersionSpec get(final PsiElement element) {
     return get(element.getProject());
   }
 
+  /**
+   * Returns the Errai version the project depends on. The version is detected once and cached on the project until
+   * its roots, including its libraries, change.
+   */
   public static VersionSpec get(final Project project) {
+    return CachedValuesManager.getManager(project).getCachedValue(project, VERSION_SPEC_KEY,
+        new CachedValueProvider<VersionSpec>() {
+          @Override
+          public Result<VersionSpec> compute() {
+            return Result.create(detect(project), ProjectRootManager.getInstance(project));
+          }
+        }, false);
+  }
+
+  private static VersionSpec detect(final Project project) {
     if (hasErrai30Types(project)) {
       return VersionSpec.V3_0;
     }
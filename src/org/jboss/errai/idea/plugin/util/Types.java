@@ -33,6 +33,7 @@ public class Types {
   public static final String BINDABLE = "org.jboss.errai.databinding.client.api.Bindable";
   public static final String BOUND = "org.jboss.errai.ui.shared.api.annotations.Bound";
   public static final String CONVERTER = "org.jboss.errai.databinding.client.api.Converter";
+  public static final String DEFAULT_CONVERTER = "org.jboss.errai.databinding.client.api.DefaultConverter";
 
   public static final String GWT_COMPOSITE = "com.google.gwt.user.client.ui.Composite";
   public static final String GWT_WIDGET_TYPE = "com.google.gwt.user.client.ui.Widget";
@@ -45,7 +45,6 @@ import com.intellij.psi.PsiParameter;
 import com.intellij.psi.PsiParameterList;
 import com.intellij.psi.PsiType;
 import com.intellij.psi.PsiVariable;
-import com.intellij.psi.search.FilenameIndex;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.PsiUtil;
 import com.intellij.psi.xml.XmlFile;
@@ -468,10 +467,22 @@ public class Util {
   }
 
   public static <T> void invalidateCache(Key<T> cacheKey, PsiElement element) {
-    element.getOriginalElement().putCopyableUserData(cacheKey, null);
+    final PsiFile cacheFile = getCacheFile(element);
+    if (cacheFile != null) {
+      CacheService.getInstance(cacheFile.getProject()).invalidate(cacheKey, cacheFile);
+    }
   }
 
   public static <T> T getOrCreateCache(Key<T> cacheKey, PsiElement element, CacheProvider<T> provider) {
+    final PsiFile cacheFile = getCacheFile(element);
+    if (cacheFile == null) {
+      return provider.provide();
+    }
+
+    return CacheService.getInstance(cacheFile.getProject()).getOrCreate(cacheKey, cacheFile, provider);
+  }
+
+  private static PsiFile getCacheFile(PsiElement element) {
     final PsiFile containingFile;
     if (element instanceof PsiFile) {
       containingFile = (PsiFile) element;
@@ -480,33 +491,16 @@ public class Util {
       final PsiClass topLevelClass = PsiUtil.getTopLevelClass(element);
 
       if (topLevelClass == null) {
-        return provider.provide();
+        return null;
       }
       containingFile = topLevelClass.getContainingFile();
     }
 
     if (containingFile == null) {
-      return provider.provide();
-    }
-
-    final PsiFile originalFile = containingFile.getOriginalFile();
-    T copyableUserData = originalFile.getCopyableUserData(cacheKey);
-
-    if (copyableUserData != null) {
-      if (!provider.isCacheValid(copyableUserData)) {
-        copyableUserData = null;
-      }
-    }
-
-    if (copyableUserData == null) {
-      originalFile.putCopyableUserData(cacheKey, copyableUserData = provider.provide());
+      return null;
     }
 
-    return copyableUserData;
-  }
-
-  public static PsiFile[] getAllErraiAppProperties(Project project) {
-    return FilenameIndex.getFilesByName(project, "ErraiApp.properties", GlobalSearchScope.allScope(project));
+    return containingFile.getOriginalFile();
   }
 
   public static long getLastUpdate(PsiElement element) {
@@ -540,22 +534,6 @@ public class Util {
     return false;
   }
 
-  public static Collection<PsiElement> findChildrenElements(PsiElement element, ElementFilter filter) {
-    final List<PsiElement> found = new ArrayList<PsiElement>();
-    _findChildrenElements(found, element, filter);
-    return found;
-  }
-
-  private static void _findChildrenElements(Collection<PsiElement> found, PsiElement element, ElementFilter filter) {
-    for (PsiElement e : element.getChildren()) {
-      if (filter.filter(e)) {
-        found.add(e);
-      }
-
-      _findChildrenElements(found, e, filter);
-    }
-  }
-
   public static boolean isInsideProjectSources(AnActionEvent event) {
     ProjectFileIndex projectFileIndex = ProjectRootManager.getInstance(event.getProject()).getFileIndex();
     final IdeView view = event.getData(DataKeys.IDE_VIEW);